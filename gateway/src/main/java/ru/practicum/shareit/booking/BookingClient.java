@@ -8,9 +8,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -38,6 +40,11 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
+    public ResponseEntity<Object> updateBookings(Long userId, List<BookingDecisionDto> decisions) {
+        log.info("Обновление статусов {} бронирований пользователем с id {}.", decisions.size(), userId);
+        return patch("/batch", userId, decisions);
+    }
+
     public ResponseEntity<Object> getByIdBooking(Long userId, Long id) {
         log.info("Вывод бронирования с id {}.", id);
         return get("/" + id, userId);
@@ -62,4 +69,14 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getStatsByBookerId(Long userId) {
+        log.info("Вывод количества бронирований пользователя {} по статусам.", userId);
+        return get("/stats", userId);
+    }
+
+    public ResponseEntity<Object> getStatsByOwnerId(Long userId) {
+        log.info("Вывод количества бронирований вещей пользователя {} по статусам.", userId);
+        return get("/owner/stats", userId);
+    }
+}
@@ -4,12 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.exception.BookingException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -19,6 +23,7 @@ public class BookingController {
     public static final String headerUserId = "X-Sharer-User-Id";
     public static final String PAGE_DEFAULT_FROM = "0";
     public static final String PAGE_DEFAULT_SIZE = "10";
+    public static final int BATCH_MAX_SIZE = 1000;
     private final BookingClient bookingClient;
 
     @PostMapping
@@ -37,6 +42,13 @@ public class BookingController {
         return bookingClient.updateBooking(userId, id, approved);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateBookings(
+            @RequestHeader(headerUserId) Long userId,
+            @RequestBody @NotEmpty @Size(max = BATCH_MAX_SIZE) List<@Valid BookingDecisionDto> decisions) {
+        return bookingClient.updateBookings(userId, decisions);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getByIdBooking(@RequestHeader(headerUserId) Long userId,
                                                  @PathVariable Long id) {
@@ -64,4 +76,14 @@ public class BookingController {
                 () -> new IllegalArgumentException("Unknown state: " + state));
         return bookingClient.getAllByOwnerId(userId, bookingStateEnum, from, size);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/stats")
+    public ResponseEntity<Object> getStatsByBookerId(@RequestHeader(headerUserId) Long userId) {
+        return bookingClient.getStatsByBookerId(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public ResponseEntity<Object> getStatsByOwnerId(@RequestHeader(headerUserId) Long userId) {
+        return bookingClient.getStatsByOwnerId(userId);
+    }
+}
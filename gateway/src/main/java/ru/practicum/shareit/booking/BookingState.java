@@ -8,7 +8,8 @@ public enum BookingState {
     PAST,
     FUTURE,
     WAITING,
-    REJECTED;
+    REJECTED,
+    EXPIRED;
 
     public static Optional<BookingState> stringToState(String state) {
         for (BookingState value : BookingState.values()) {
@@ -10,6 +10,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -37,6 +40,16 @@ public final class ItemClient extends BaseClient {
         return patch("/" + id, userId, itemDto);
     }
 
+    public ResponseEntity<Object> createItems(Long userId, List<ItemDto> itemDtos) {
+        log.info("Пользователь с ID {} создал {} вещей.", userId, itemDtos.size());
+        return post("/batch", userId, itemDtos);
+    }
+
+    public ResponseEntity<Object> updateItems(Long userId, List<ItemDto> itemDtos) {
+        log.info("Пользователь с ID {} обновил {} вещей.", userId, itemDtos.size());
+        return patch("/batch", userId, itemDtos);
+    }
+
     public void deleteItem(Long id) {
         log.info("Удалена вещь с ID {}.", id);
         delete("/" + id);
@@ -52,20 +65,83 @@ public final class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getByOwnerId(Long userId, String cursor, Integer size) {
+        log.info("Выведены вещи пользователя с ID {} после курсора \"{}\".", userId, cursor);
+
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?cursor={cursor}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getByIdItem(Long userId, Long id) {
         log.info("Выведена вещь с ID {}.", id);
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> searchItem(String text, Integer from, Integer size) {
-        log.info("Поиск вещей с подстрокой \"{}\".", text);
+    public ResponseEntity<Object> searchItem(String text, LocalDate start, LocalDate end, Integer from, Integer size) {
+        log.info("Поиск вещей с подстрокой \"{}\", свободных с {} по {}.", text, start, end);
 
+        if (start == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size
+            );
+            return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "text", text,
+                "start", start,
+                "end", end,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchItem(String text, LocalDate start, LocalDate end, String cursor,
+                                             Integer size) {
+        log.info("Поиск вещей с подстрокой \"{}\", свободных с {} по {}, после курсора \"{}\".",
+                text, start, end, cursor);
+
+        if (start == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/search?text={text}&cursor={cursor}&size={size}", null, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&cursor={cursor}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(Long id, LocalDateTime from, LocalDateTime to) {
+        log.info("Вывод свободных интервалов вещи с ID {} с {} по {}.", id, from, to);
+
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + id + "/availability?from={from}&to={to}", null, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItem(String prefix, Integer size) {
+        log.info("Подсказки для вещей с префиксом \"{}\".", prefix);
+
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> addCommentItem(Long userId, Long id, CommentRequestDto commentDto) {
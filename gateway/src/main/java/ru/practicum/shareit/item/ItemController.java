@@ -1,21 +1,31 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.validator.Create;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
 public class ItemController {
+    public static final int BATCH_MAX_SIZE = 1000;
+    public static final int SUGGEST_MAX_SIZE = 10;
     private final ItemClient itemClient;
 
     @PostMapping
@@ -31,6 +41,20 @@ public class ItemController {
         return itemClient.updateItem(userId, id, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createItems(
+            @RequestHeader(BookingController.headerUserId) Long userId,
+            @RequestBody @NotEmpty @Size(max = BATCH_MAX_SIZE) List<ItemDto> itemDtos) {
+        return itemClient.createItems(userId, itemDtos);
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateItems(
+            @RequestHeader(BookingController.headerUserId) Long userId,
+            @RequestBody @NotEmpty @Size(max = BATCH_MAX_SIZE) List<ItemDto> itemDtos) {
+        return itemClient.updateItems(userId, itemDtos);
+    }
+
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
         itemClient.deleteItem(id);
@@ -39,9 +63,42 @@ public class ItemController {
     @GetMapping("/search")
     public ResponseEntity<Object> searchItem(
             @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
             @RequestParam(defaultValue = BookingController.PAGE_DEFAULT_FROM) @PositiveOrZero Integer from,
             @RequestParam(defaultValue = BookingController.PAGE_DEFAULT_SIZE) @Positive Integer size) {
-        return itemClient.searchItem(text, from, size);
+        validateRange(start, end);
+        return itemClient.searchItem(text, start, end, from, size);
+    }
+
+    @GetMapping(path = "/search", params = "cursor")
+    public ResponseEntity<Object> searchItem(
+            @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = BookingController.PAGE_DEFAULT_SIZE) @Positive Integer size) {
+        validateRange(start, end);
+        return itemClient.searchItem(text, start, end, cursor, size);
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BookingException("Начало интервала должно быть раньше конца.");
+        }
+        return itemClient.getAvailability(id, from, to);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItem(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = BookingController.PAGE_DEFAULT_SIZE) @Positive @Max(SUGGEST_MAX_SIZE)
+            Integer size) {
+        return itemClient.suggestItem(prefix, size);
     }
 
     @GetMapping
@@ -52,6 +109,14 @@ public class ItemController {
         return itemClient.getByOwnerId(userId, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<Object> getByOwnerId(
+            @RequestHeader(BookingController.headerUserId) Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = BookingController.PAGE_DEFAULT_SIZE) @Positive Integer size) {
+        return itemClient.getByOwnerId(userId, cursor, size);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getById(@RequestHeader(BookingController.headerUserId) Long userId,
                                           @PathVariable Long id) {
@@ -64,4 +129,13 @@ public class ItemController {
                                              @Valid @RequestBody CommentRequestDto commentRequestDto) {
         return itemClient.addCommentItem(userId, id, commentRequestDto);
     }
-}
\ No newline at end of file
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if ((start == null) != (end == null)) {
+            throw new BookingException("Начало и конец интервала указываются вместе.");
+        }
+        if (start != null && start.isAfter(end)) {
+            throw new BookingException("Начало интервала не может быть позже конца.");
+        }
+    }
+}
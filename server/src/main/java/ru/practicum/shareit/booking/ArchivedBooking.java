@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Immutable
+@Table(name = "BOOKINGS_ARCHIVE", schema = "public")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@ToString
+@NoArgsConstructor
+public class ArchivedBooking {
+    @Id
+    Long id;
+    @Column(name = "START_DATE", nullable = false)
+    LocalDateTime start;
+    @Column(name = "END_DATE", nullable = false)
+    LocalDateTime end;
+    @ManyToOne
+    @JoinColumn(name = "ITEM_ID", referencedColumnName = "ID", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    Item item;
+    @ManyToOne
+    @JoinColumn(name = "BOOKER_ID", referencedColumnName = "ID", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    User booker;
+    @Column(name = "OWNER_ID", nullable = false)
+    Long ownerId;
+    @Convert(converter = StatusConverter.class)
+    @Column(name = "STATUS", nullable = false)
+    Status status;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArchivedBooking)) return false;
+        return id != null && id.equals(((ArchivedBooking) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, start, end, status);
+    }
+}
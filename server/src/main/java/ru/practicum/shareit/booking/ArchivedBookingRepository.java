@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static ru.practicum.shareit.booking.BookingRepository.STATS_SELECT;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    @Query("SELECT new ru.practicum.shareit.booking.BookingView(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, b.ownerId, i.requestId, u.id, u.name, u.email) " +
+            "FROM ArchivedBooking b JOIN b.item i JOIN b.booker u " +
+            "WHERE b.booker.id = :userId " +
+            "AND b.status IN :statuses AND b.start > :startAfter AND b.start < :startBefore " +
+            "AND b.end > :endAfter AND b.end < :endBefore " +
+            "ORDER BY b.start DESC")
+    Slice<BookingView> findViewsByBookerId(@Param("userId") Long userId,
+                                           @Param("statuses") Collection<Status> statuses,
+                                           @Param("startAfter") LocalDateTime startAfter,
+                                           @Param("startBefore") LocalDateTime startBefore,
+                                           @Param("endAfter") LocalDateTime endAfter,
+                                           @Param("endBefore") LocalDateTime endBefore,
+                                           Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingView(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, b.ownerId, i.requestId, u.id, u.name, u.email) " +
+            "FROM ArchivedBooking b JOIN b.item i JOIN b.booker u " +
+            "WHERE b.ownerId = :userId " +
+            "AND b.status IN :statuses AND b.start > :startAfter AND b.start < :startBefore " +
+            "AND b.end > :endAfter AND b.end < :endBefore " +
+            "ORDER BY b.start DESC")
+    Slice<BookingView> findViewsByOwnerId(@Param("userId") Long userId,
+                                          @Param("statuses") Collection<Status> statuses,
+                                          @Param("startAfter") LocalDateTime startAfter,
+                                          @Param("startBefore") LocalDateTime startBefore,
+                                          @Param("endAfter") LocalDateTime endAfter,
+                                          @Param("endBefore") LocalDateTime endBefore,
+                                          Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingView(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, b.ownerId, i.requestId, u.id, u.name, u.email) " +
+            "FROM ArchivedBooking b JOIN b.item i JOIN b.booker u " +
+            "WHERE b.id = ?1")
+    Optional<BookingView> findViewById(Long id);
+
+    @Query(STATS_SELECT + "FROM ArchivedBooking b WHERE b.booker.id = :userId")
+    BookingStatsDto countStatsByBookerId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                         @Param("approved") Status approved, @Param("waiting") Status waiting,
+                                         @Param("rejected") Status rejected,
+                                         @Param("expired") Status expired);
+
+    @Query(STATS_SELECT + "FROM ArchivedBooking b WHERE b.ownerId = :userId")
+    BookingStatsDto countStatsByOwnerId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                        @Param("approved") Status approved, @Param("waiting") Status waiting,
+                                        @Param("rejected") Status rejected,
+                                        @Param("expired") Status expired);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM ArchivedBooking b " +
+            "WHERE b.item.id IN ?1 AND b.status = ?3 " +
+            "AND b.start = (SELECT MAX(lb.start) FROM ArchivedBooking lb " +
+            "WHERE lb.item.id = b.item.id AND lb.start < ?2 AND lb.status = ?3)")
+    List<BookingShort> findLastByItemIdIn(Collection<Long> itemIds, LocalDateTime now, Status status);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM ArchivedBooking b " +
+            "WHERE b.id IN ?1")
+    List<BookingShort> findShortByIdIn(Collection<Long> ids);
+
+    boolean existsByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(Long itemId, Long userId, LocalDateTime end,
+                                                                  Status status);
+
+    @Transactional
+    @Query(value = "SELECT BOOKINGS_CREATE_PARTITIONS(:fromStart, :toStart)", nativeQuery = true)
+    int createPartitions(@Param("fromStart") LocalDateTime fromStart, @Param("toStart") LocalDateTime toStart);
+
+    @Transactional
+    @Query(value = "SELECT BOOKINGS_ARCHIVE_PARTITIONS(:horizon, :lockWait)", nativeQuery = true)
+    int archivePartitions(@Param("horizon") LocalDateTime horizon, @Param("lockWait") String lockWait);
+
+    @Transactional
+    @Query(value = "SELECT BOOKINGS_MIGRATE_LEGACY(:batchSize)", nativeQuery = true)
+    int migrateLegacy(@Param("batchSize") int batchSize);
+}
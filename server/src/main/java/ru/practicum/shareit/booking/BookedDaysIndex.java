@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookedDaysIndex {
+    private static final int REBUILD_PAGE_SIZE = 10000;
+
+    private final BookingRepository bookingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, CompressedBitmap> days = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            days.clear();
+            LocalDateTime now = LocalDateTime.now();
+            long afterId = 0;
+            int loaded = 0;
+            List<BookingShort> page;
+            do {
+                page = bookingRepository.findByStatusAndEndAfterAndIdAfter(Status.APPROVED, now, afterId,
+                        PageRequest.of(0, REBUILD_PAGE_SIZE));
+                page.forEach(booking -> mark(booking.getItemId(), booking.getStart(), booking.getEnd()));
+                loaded += page.size();
+                afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            log.info("Индекс занятых дней построен по {} подтвержденным бронированиям, дней: {}.", loaded,
+                    days.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                mark(itemId, start, end);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public LongPredicate freeBetween(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        Map<Long, long[]> booked = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> bitmaps = new ArrayList<>();
+            if (last - first < days.size()) {
+                for (long day = first; day <= last; day++) {
+                    CompressedBitmap bitmap = days.get(day);
+                    if (bitmap != null) {
+                        bitmaps.add(bitmap);
+                    }
+                }
+            } else {
+                days.forEach((day, bitmap) -> {
+                    if (day >= first && day <= last) {
+                        bitmaps.add(bitmap);
+                    }
+                });
+            }
+            bitmaps.forEach(bitmap -> bitmap.orInto(booked));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return itemId -> !CompressedBitmap.contains(booked, itemId);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.days.prune-delay}")
+    public void prune() {
+        long today = LocalDate.now().toEpochDay();
+        lock.writeLock().lock();
+        try {
+            days.keySet().removeIf(day -> day < today);
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void mark(Long itemId, LocalDateTime start, LocalDateTime end) {
+        LocalDate lastDate = end.toLocalTime().equals(LocalTime.MIDNIGHT) && end.isAfter(start)
+                ? end.toLocalDate().minusDays(1)
+                : end.toLocalDate();
+        long first = Math.max(start.toLocalDate().toEpochDay(), LocalDate.now().toEpochDay());
+        for (long day = first; day <= lastDate.toEpochDay(); day++) {
+            days.computeIfAbsent(day, key -> new CompressedBitmap()).add(itemId);
+        }
+        version.incrementAndGet();
+    }
+}
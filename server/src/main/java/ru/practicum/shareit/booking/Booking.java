@@ -14,15 +14,16 @@ import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -37,7 +38,8 @@ import java.util.Objects;
 @Builder
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "BOOKINGS_SEQ", allocationSize = 50)
     Long id;
     @Column(name = "START_DATE", nullable = false)
     LocalDateTime start;
@@ -51,9 +53,14 @@ public class Booking {
     @JoinColumn(name = "BOOKER_ID", referencedColumnName = "ID", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     User booker;
-    @Enumerated(EnumType.STRING)
+    @Column(name = "OWNER_ID", nullable = false)
+    Long ownerId;
+    @Convert(converter = StatusConverter.class)
     @Column(name = "STATUS", nullable = false)
     Status status;
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    Long version;
 
     @Override
     public boolean equals(Object o) {
@@ -12,9 +12,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 import static ru.practicum.shareit.user.UserController.*;
@@ -24,6 +30,7 @@ import static ru.practicum.shareit.user.UserController.*;
 @RequiredArgsConstructor
 @Validated
 public class BookingController {
+    public static final int BATCH_MAX_SIZE = 1000;
     public final BookingService bookingService;
 
     @PostMapping
@@ -39,6 +46,13 @@ public class BookingController {
         return bookingService.updateBooking(userId, id, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> updateBookings(
+            @RequestHeader(headerUserId) Long userId,
+            @RequestBody @NotEmpty @Size(max = BATCH_MAX_SIZE) List<@Valid BookingDecisionDto> decisions) {
+        return bookingService.updateBookings(userId, decisions);
+    }
+
     @GetMapping("/{id}")
     public BookingResponseDto getByIdBooking(@RequestHeader(headerUserId) Long userId,
                                              @PathVariable Long id) {
@@ -60,4 +74,14 @@ public class BookingController {
                                                     @RequestParam Integer size) {
         return bookingService.getAllByOwnerId(userId, State.valueOf(state), PageRequest.of(from / size, size));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/stats")
+    public BookingStatsDto getStatsByBookerId(@RequestHeader(headerUserId) Long userId) {
+        return bookingService.getStatsByBookerId(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public BookingStatsDto getStatsByOwnerId(@RequestHeader(headerUserId) Long userId) {
+        return bookingService.getStatsByOwnerId(userId);
+    }
+}
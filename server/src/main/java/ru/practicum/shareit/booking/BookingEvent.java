@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "BOOKING_EVENTS", schema = "public")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_events_seq")
+    @SequenceGenerator(name = "booking_events_seq", sequenceName = "BOOKING_EVENTS_SEQ", allocationSize = 50)
+    Long id;
+    @Column(name = "BOOKING_ID", nullable = false)
+    Long bookingId;
+    @Column(name = "ITEM_ID", nullable = false)
+    Long itemId;
+    @Column(name = "OWNER_ID", nullable = false)
+    Long ownerId;
+    @Column(name = "BOOKER_ID", nullable = false)
+    Long bookerId;
+    @Convert(converter = StatusConverter.class)
+    @Column(name = "STATUS", nullable = false)
+    Status status;
+    @Column(name = "CREATED", nullable = false)
+    LocalDateTime created;
+    @Column(name = "ATTEMPTS", nullable = false)
+    Integer attempts;
+    @Column(name = "NEXT_ATTEMPT", nullable = false)
+    LocalDateTime nextAttempt;
+    @Column(name = "DEAD", nullable = false)
+    Boolean dead;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BookingEvent)) return false;
+        return id != null && id.equals(((BookingEvent) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, bookingId, status);
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookingEventDispatcher {
+    private final BookingEventService eventService;
+    @Value("${shareit.booking.events.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${shareit.booking.events.dispatch-delay}")
+    public void dispatch() {
+        int total = 0;
+        int dispatched;
+        do {
+            dispatched = eventService.dispatch(batchSize);
+            total += dispatched;
+        } while (dispatched == batchSize);
+        if (total > 0) {
+            log.info("Доставлено {} событий бронирований.", total);
+        }
+    }
+}
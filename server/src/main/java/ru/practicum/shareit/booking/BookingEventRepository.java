@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM BookingEvent e WHERE e.dead = false AND e.nextAttempt <= ?1 ORDER BY e.id")
+    List<BookingEvent> findPendingForUpdate(LocalDateTime dateTime, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM BookingEvent e WHERE e.dead = false AND e.nextAttempt <= ?1 ORDER BY e.id")
+    List<BookingEvent> findPendingForUpdateSkipLocked(LocalDateTime dateTime, Pageable pageable);
+}
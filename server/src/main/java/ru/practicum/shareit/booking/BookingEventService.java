@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+
+public interface BookingEventService {
+    void publish(Booking booking);
+
+    void publishAll(Collection<BookingView> bookings);
+
+    int dispatch(int batchSize);
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class BookingEventServiceImpl implements BookingEventService {
+    private final BookingEventRepository eventRepository;
+    private final List<BookingEventListener> listeners;
+    private final Timer lag;
+    private final Counter failures;
+    private final Counter deadLetters;
+    @Value("${shareit.booking.skip-locked:false}")
+    private boolean skipLocked;
+    @Value("${shareit.booking.events.max-attempts}")
+    private int maxAttempts;
+    @Value("${shareit.booking.events.retry-delay}")
+    private Duration retryDelay;
+
+    public BookingEventServiceImpl(BookingEventRepository eventRepository, List<BookingEventListener> listeners,
+                                   MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.listeners = listeners;
+        this.lag = Timer.builder("booking.events.lag")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.failures = Counter.builder("booking.events.failures")
+                .register(meterRegistry);
+        this.deadLetters = Counter.builder("booking.events.dead")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public void publish(Booking booking) {
+        LocalDateTime created = LocalDateTime.now();
+        eventRepository.save(BookingEvent.builder()
+                .bookingId(booking.getId())
+                .itemId(booking.getItem().getId())
+                .ownerId(booking.getOwnerId())
+                .bookerId(booking.getBooker().getId())
+                .status(booking.getStatus())
+                .created(created)
+                .attempts(0)
+                .nextAttempt(created)
+                .dead(false)
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void publishAll(Collection<BookingView> bookings) {
+        LocalDateTime created = LocalDateTime.now();
+        eventRepository.saveAll(bookings.stream()
+                .map(booking -> BookingEvent.builder()
+                        .bookingId(booking.getId())
+                        .itemId(booking.getItemId())
+                        .ownerId(booking.getItemOwnerId())
+                        .bookerId(booking.getBookerId())
+                        .status(booking.getStatus())
+                        .created(created)
+                        .attempts(0)
+                        .nextAttempt(created)
+                        .dead(false)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional
+    public int dispatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingEvent> events = skipLocked
+                ? eventRepository.findPendingForUpdateSkipLocked(now, PageRequest.of(0, batchSize))
+                : eventRepository.findPendingForUpdate(now, PageRequest.of(0, batchSize));
+        List<BookingEvent> delivered = new ArrayList<>(events.size());
+        for (BookingEvent event : events) {
+            if (deliver(event)) {
+                delivered.add(event);
+                lag.record(Duration.between(event.getCreated(), LocalDateTime.now()));
+            } else {
+                reschedule(event, now);
+            }
+        }
+        eventRepository.deleteAllInBatch(delivered);
+        return events.size();
+    }
+
+    private boolean deliver(BookingEvent event) {
+        boolean delivered = true;
+        for (BookingEventListener listener : listeners) {
+            try {
+                listener.onBookingEvent(event);
+            } catch (RuntimeException e) {
+                delivered = false;
+                failures.increment();
+                log.error("Ошибка обработки события {} обработчиком {}.", event, listener, e);
+            }
+        }
+        return delivered;
+    }
+
+    private void reschedule(BookingEvent event, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            event.setDead(true);
+            deadLetters.increment();
+            log.error("Событие {} не доставлено за {} попыток и перенесено в недоставленные.", event, attempts);
+            return;
+        }
+        event.setNextAttempt(now.plus(retryDelay.multipliedBy(1L << Math.min(attempts - 1, 10))));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+class BookingExpirer {
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex intervalIndex;
+    private final BookingStatsCache statsCache;
+    private final BookingEventService eventService;
+    @Value("${shareit.booking.skip-locked:false}")
+    private boolean skipLocked;
+
+    @Transactional
+    public int expireWaiting(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = skipLocked
+                ? bookingRepository.findExpiredIdsForUpdateSkipLocked(Status.WAITING, now, PageRequest.of(0, limit))
+                : bookingRepository.findExpiredIdsForUpdate(Status.WAITING, now, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int expired = bookingRepository.expireWaiting(ids, Status.WAITING, Status.EXPIRED);
+        List<BookingView> bookings = bookingRepository.findViewsByIdIn(ids);
+        bookings.forEach(booking -> intervalIndex.release(booking.getItemId(), booking.getId(), booking.getStart()));
+        statsCache.evict(bookings.stream().map(BookingView::getBookerId).collect(Collectors.toSet()),
+                bookings.stream().map(BookingView::getItemOwnerId).collect(Collectors.toSet()));
+        eventService.publishAll(bookings);
+        return expired;
+    }
+}
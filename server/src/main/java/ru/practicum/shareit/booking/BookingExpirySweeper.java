@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class BookingExpirySweeper {
+    private final BookingExpirer expirer;
+    private final Counter expired;
+    private final Timer duration;
+    @Value("${shareit.booking.expiry.chunk-size}")
+    private int chunkSize;
+
+    public BookingExpirySweeper(BookingExpirer expirer, MeterRegistry meterRegistry) {
+        this.expirer = expirer;
+        this.expired = Counter.builder("booking.expiry.expired")
+                .register(meterRegistry);
+        this.duration = Timer.builder("booking.expiry.duration")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.sweep-delay}")
+    public void sweep() {
+        Timer.Sample sample = Timer.start();
+        int total = 0;
+        int chunk;
+        do {
+            chunk = expirer.expireWaiting(chunkSize);
+            total += chunk;
+        } while (chunk == chunkSize);
+        sample.stop(duration);
+        expired.increment(total);
+        if (total > 0) {
+            log.info("Просрочено {} неподтверждённых бронирований.", total);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@Builder
+public class BookingFilter {
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    @Builder.Default
+    Collection<Status> statuses = List.of(Status.values());
+    @Builder.Default
+    LocalDateTime startAfter = MIN_DATE;
+    @Builder.Default
+    LocalDateTime startBefore = MAX_DATE;
+    @Builder.Default
+    LocalDateTime endAfter = MIN_DATE;
+    @Builder.Default
+    LocalDateTime endBefore = MAX_DATE;
+    @Builder.Default
+    boolean archived = true;
+
+    public static BookingFilter of(State state, LocalDateTime now) {
+        switch (state) {
+            case CURRENT:
+                return builder().startBefore(now).endAfter(now).archived(false).build();
+            case PAST:
+                return builder().endBefore(now).statuses(List.of(Status.APPROVED)).build();
+            case FUTURE:
+                return builder().startAfter(now).archived(false).build();
+            case WAITING:
+                return builder().statuses(List.of(Status.WAITING)).archived(false).build();
+            case REJECTED:
+                return builder().statuses(List.of(Status.REJECTED)).build();
+            case EXPIRED:
+                return builder().statuses(List.of(Status.EXPIRED)).build();
+            default:
+                return builder().build();
+        }
+    }
+}
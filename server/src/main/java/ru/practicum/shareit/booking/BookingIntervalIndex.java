@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.exception.BookingException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+public class BookingIntervalIndex {
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final LoadingCache<Long, BookingIntervalTree> trees;
+    private final Map<Long, PinnedTree> pinned = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.intervals.spec}") String spec) {
+        this.bookingRepository = bookingRepository;
+        this.trees = Caffeine.from(spec).build(this::load);
+    }
+
+    public void reserve(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(trees.get(itemId), bookingId, start, end);
+            return;
+        }
+        BookingIntervalTree tree = pin(itemId);
+        try {
+            insert(tree, bookingId, start, end);
+        } catch (RuntimeException e) {
+            unpin(itemId);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (tree) {
+                        tree.remove(bookingId, start);
+                    }
+                }
+                unpin(itemId);
+            }
+        });
+    }
+
+    public void release(Long itemId, Long bookingId, LocalDateTime start) {
+        afterCommit(() -> {
+            BookingIntervalTree tree = trees.getIfPresent(itemId);
+            if (tree != null) {
+                synchronized (tree) {
+                    tree.remove(bookingId, start);
+                }
+            }
+        });
+    }
+
+    public List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        BookingIntervalTree tree = trees.get(itemId);
+        synchronized (tree) {
+            return tree.freeSlots(from, to);
+        }
+    }
+
+    private static void insert(BookingIntervalTree tree, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        synchronized (tree) {
+            if (tree.overlaps(start, end)) {
+                throw new BookingException("Вещь уже забронирована на это время.");
+            }
+            tree.insert(bookingId, start, end);
+        }
+    }
+
+    private BookingIntervalTree pin(Long itemId) {
+        return pinned.compute(itemId, (id, pin) -> pin != null
+                ? pin.retain()
+                : new PinnedTree(trees.get(id))).tree;
+    }
+
+    private void unpin(Long itemId) {
+        pinned.computeIfPresent(itemId, (id, pin) -> pin.release() ? null : pin);
+    }
+
+    private BookingIntervalTree load(Long itemId) {
+        PinnedTree pin = pinned.get(itemId);
+        if (pin != null) {
+            return pin.tree;
+        }
+        BookingIntervalTree tree = new BookingIntervalTree();
+        bookingRepository.findActiveByItemId(itemId, ACTIVE_STATUSES, LocalDateTime.now())
+                .forEach(booking -> tree.insert(booking.getId(), booking.getStart(), booking.getEnd()));
+        return tree;
+    }
+
+    private static final class PinnedTree {
+        final BookingIntervalTree tree;
+        int holders = 1;
+
+        PinnedTree(BookingIntervalTree tree) {
+            this.tree = tree;
+        }
+
+        PinnedTree retain() {
+            holders++;
+            return this;
+        }
+
+        boolean release() {
+            return --holders == 0;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class BookingIntervalTree {
+    private Node root;
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start.isBefore(end) && start.isBefore(node.end)) {
+                return true;
+            }
+            node = node.left != null && node.left.maxEnd.isAfter(start) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    void insert(long bookingId, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, new Node(bookingId, start, end));
+    }
+
+    void remove(long bookingId, LocalDateTime start) {
+        root = remove(root, bookingId, start);
+    }
+
+    List<FreeSlotDto> freeSlots(LocalDateTime from, LocalDateTime to) {
+        List<Node> busy = new ArrayList<>();
+        collect(root, from, to, busy);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        LocalDateTime free = from;
+        for (Node node : busy) {
+            if (node.start.isAfter(free)) {
+                slots.add(FreeSlotDto.builder()
+                        .start(free)
+                        .end(node.start)
+                        .build());
+            }
+            if (node.end.isAfter(free)) {
+                free = node.end;
+            }
+        }
+        if (free.isBefore(to)) {
+            slots.add(FreeSlotDto.builder()
+                    .start(free)
+                    .end(to)
+                    .build());
+        }
+        return slots;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.bookingId, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node remove(Node node, long bookingId, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, bookingId, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, bookingId, start);
+        } else {
+            node.right = remove(node.right, bookingId, start);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<Node> busy) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, busy);
+        if (node.start.isBefore(to)) {
+            if (node.end.isAfter(from)) {
+                busy.add(node);
+            }
+            collect(node.right, from, to, busy);
+        }
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int compare(LocalDateTime start, long bookingId, Node node) {
+        int comparison = start.compareTo(node.start);
+        return comparison != 0 ? comparison : Long.compare(bookingId, node.bookingId);
+    }
+
+    private static final class Node {
+        final long bookingId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        LocalDateTime maxEnd;
+        Node left;
+        Node right;
+
+        Node(long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
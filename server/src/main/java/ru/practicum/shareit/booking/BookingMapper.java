@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.Item;
@@ -14,7 +15,42 @@ public interface BookingMapper {
     @Mapping(target = "id", expression = "java(null)")
     @Mapping(target = "item", expression = "java(item)")
     @Mapping(target = "booker", expression = "java(user)")
-    Booking requestDtoToBooking(BookingRequestDto bookingRequestDto, Item item, User user, Status status);
+    @Mapping(target = "ownerId", source = "ownerId")
+    @Mapping(target = "version", ignore = true)
+    Booking requestDtoToBooking(BookingRequestDto bookingRequestDto, Item item, User user, Long ownerId,
+                                Status status);
 
     BookingResponseDto bookingToBookingResponseDto(Booking booking);
+
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.ownerId", source = "itemOwnerId")
+    @Mapping(target = "item.requestId", source = "itemRequestId")
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingResponseDto toBookingResponseDto(BookingView view);
+
+    default BookingView toBookingView(Booking booking, BookingCreationView view) {
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                view.getItemId(), view.getItemName(), view.getItemDescription(), view.getItemAvailable(),
+                view.getItemOwnerId(), view.getItemRequestId(), view.getBookerId(), view.getBookerName(),
+                view.getBookerEmail());
+    }
+
+    BookingItemDto toBookingItemDto(BookingShort booking);
+
+    @Mapping(target = "id", source = "lastId")
+    @Mapping(target = "bookerId", source = "lastBookerId")
+    @Mapping(target = "start", source = "lastStart")
+    @Mapping(target = "end", source = "lastEnd")
+    BookingItemDto toLastBookingItemDto(ItemBookingSummaryView view);
+
+    @Mapping(target = "id", source = "nextId")
+    @Mapping(target = "bookerId", source = "nextBookerId")
+    @Mapping(target = "start", source = "nextStart")
+    @Mapping(target = "end", source = "nextEnd")
+    BookingItemDto toNextBookingItemDto(ItemBookingSummaryView view);
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.archive.enabled", havingValue = "true")
+public class BookingPartitionMaintainer {
+    private final ArchivedBookingRepository archiveRepository;
+    @Value("${shareit.booking.archive.horizon}")
+    private Duration horizon;
+    @Value("${shareit.booking.archive.months-ahead}")
+    private int monthsAhead;
+    @Value("${shareit.booking.archive.lock-timeout}")
+    private String lockTimeout;
+    @Value("${shareit.booking.archive.migration-batch-size}")
+    private int migrationBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrateLegacy() {
+        long moved = 0;
+        for (int batch = archiveRepository.migrateLegacy(migrationBatchSize); batch > 0;
+             batch = archiveRepository.migrateLegacy(migrationBatchSize)) {
+            moved += batch;
+        }
+        if (moved > 0) {
+            log.info("Перенесено бронирований в секционированную таблицу: {}.", moved);
+        }
+    }
+
+    @Scheduled(cron = "${shareit.booking.archive.maintenance-cron}")
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        int created = archiveRepository.createPartitions(now, now.plusMonths(monthsAhead));
+        int archived = archiveRepository.archivePartitions(now.minus(horizon), lockTimeout);
+        if (created > 0 || archived > 0) {
+            log.info("Создано секций бронирований: {}, перенесено в архив: {}.", created, archived);
+        }
+    }
+}
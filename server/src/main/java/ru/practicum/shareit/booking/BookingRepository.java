@@ -1,43 +1,167 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findByBookerIdOrderByStartDesc(Long booker, Pageable pageable);
+    String STATS_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingStatsDto(COUNT(b), " +
+            "COALESCE(SUM(CASE WHEN b.start < :now AND b.end > :now THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.end < :now AND b.status = :approved THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.start > :now THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = :waiting THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = :rejected THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = :expired THEN 1 ELSE 0 END), 0)) ";
 
-    Page<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start,
-                                                                          LocalDateTime end, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingCreationView(i.id, i.name, i.description, " +
+            "i.available, i.owner.id, i.requestId, u.id, u.name, u.email) " +
+            "FROM Item i LEFT JOIN User u ON u.id = :userId " +
+            "WHERE i.id = :itemId")
+    Optional<BookingCreationView> findCreationView(@Param("itemId") Long itemId, @Param("userId") Long userId);
 
-    Page<Booking> findByBookerIdAndEndBeforeAndStatusEqualsOrderByStartDesc(Long userId, LocalDateTime start,
-                                                                            Status status, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingView(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, b.ownerId, i.requestId, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE b.booker.id = :userId " +
+            "AND b.status IN :statuses AND b.start > :startAfter AND b.start < :startBefore " +
+            "AND b.end > :endAfter AND b.end < :endBefore " +
+            "ORDER BY b.start DESC")
+    Slice<BookingView> findViewsByBookerId(@Param("userId") Long userId,
+                                           @Param("statuses") Collection<Status> statuses,
+                                           @Param("startAfter") LocalDateTime startAfter,
+                                           @Param("startBefore") LocalDateTime startBefore,
+                                           @Param("endAfter") LocalDateTime endAfter,
+                                           @Param("endBefore") LocalDateTime endBefore,
+                                           Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingView(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, b.ownerId, i.requestId, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE b.ownerId = :userId " +
+            "AND b.status IN :statuses AND b.start > :startAfter AND b.start < :startBefore " +
+            "AND b.end > :endAfter AND b.end < :endBefore " +
+            "ORDER BY b.start DESC")
+    Slice<BookingView> findViewsByOwnerId(@Param("userId") Long userId,
+                                          @Param("statuses") Collection<Status> statuses,
+                                          @Param("startAfter") LocalDateTime startAfter,
+                                          @Param("startBefore") LocalDateTime startBefore,
+                                          @Param("endAfter") LocalDateTime endAfter,
+                                          @Param("endBefore") LocalDateTime endBefore,
+                                          Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStatusEqualsOrderByStartDesc(Long userId, Status status, Pageable pageable);
+    @Query("SELECT COUNT(b) FROM Booking b " +
+            "WHERE b.booker.id = :userId " +
+            "AND b.status IN :statuses AND b.start > :startAfter AND b.start < :startBefore " +
+            "AND b.end > :endAfter AND b.end < :endBefore")
+    long countViewsByBookerId(@Param("userId") Long userId,
+                              @Param("statuses") Collection<Status> statuses,
+                              @Param("startAfter") LocalDateTime startAfter,
+                              @Param("startBefore") LocalDateTime startBefore,
+                              @Param("endAfter") LocalDateTime endAfter,
+                              @Param("endBefore") LocalDateTime endBefore);
 
-    Page<Booking> findByItemOwnerIdOrderByStartDesc(Long booker, Pageable pageable);
+    @Query("SELECT COUNT(b) FROM Booking b " +
+            "WHERE b.ownerId = :userId " +
+            "AND b.status IN :statuses AND b.start > :startAfter AND b.start < :startBefore " +
+            "AND b.end > :endAfter AND b.end < :endBefore")
+    long countViewsByOwnerId(@Param("userId") Long userId,
+                             @Param("statuses") Collection<Status> statuses,
+                             @Param("startAfter") LocalDateTime startAfter,
+                             @Param("startBefore") LocalDateTime startBefore,
+                             @Param("endAfter") LocalDateTime endAfter,
+                             @Param("endBefore") LocalDateTime endBefore);
 
-    Page<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start,
-                                                                             LocalDateTime end, Pageable pageable);
+    @Query(STATS_SELECT + "FROM Booking b WHERE b.booker.id = :userId")
+    BookingStatsDto countStatsByBookerId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                         @Param("approved") Status approved, @Param("waiting") Status waiting,
+                                         @Param("rejected") Status rejected,
+                                         @Param("expired") Status expired);
 
-    Page<Booking> findByItemOwnerIdAndEndBeforeAndStatusEqualsOrderByStartDesc(Long userId, LocalDateTime start,
-                                                                               Status status, Pageable pageable);
+    @Query(STATS_SELECT + "FROM Booking b WHERE b.ownerId = :userId")
+    BookingStatsDto countStatsByOwnerId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                        @Param("approved") Status approved, @Param("waiting") Status waiting,
+                                        @Param("rejected") Status rejected,
+                                        @Param("expired") Status expired);
 
-    Page<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingView(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, b.ownerId, i.requestId, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "WHERE b.id IN ?1")
+    List<BookingView> findViewsByIdIn(Collection<Long> ids);
 
-    Page<Booking> findByItemOwnerIdAndStatusEqualsOrderByStartDesc(Long userId, Status status, Pageable pageable);
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.status = ?3 " +
+            "AND b.start = (SELECT MAX(lb.start) FROM Booking lb " +
+            "WHERE lb.item.id = b.item.id AND lb.start < ?2 AND lb.status = ?3)")
+    List<BookingShort> findLastByItemIdIn(Collection<Long> itemIds, LocalDateTime now, Status status);
 
-    List<Booking> findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(Long userId, LocalDateTime start,
-                                                                            Status status);
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.status = ?3 " +
+            "AND b.start = (SELECT MIN(nb.start) FROM Booking nb " +
+            "WHERE nb.item.id = b.item.id AND nb.start > ?2 AND nb.status = ?3)")
+    List<BookingShort> findNextByItemIdIn(Collection<Long> itemIds, LocalDateTime now, Status status);
 
-    List<Booking> findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(Long userId, LocalDateTime start,
-                                                                          Status status);
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM Booking b " +
+            "WHERE b.status = ?1 AND b.end > ?2 AND b.id > ?3 " +
+            "ORDER BY b.id")
+    List<BookingShort> findByStatusAndEndAfterAndIdAfter(Status status, LocalDateTime dateTime, Long id,
+                                                         Pageable pageable);
 
     List<Booking> findByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(Long id, Long userId, LocalDateTime end,
                                                                        Status status);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :waiting AND b.start < :now ORDER BY b.start")
+    List<Long> findExpiredIdsForUpdate(@Param("waiting") Status waiting, @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :waiting AND b.start < :now ORDER BY b.start")
+    List<Long> findExpiredIdsForUpdateSkipLocked(@Param("waiting") Status waiting, @Param("now") LocalDateTime now,
+                                                 Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :expired, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :waiting")
+    int expireWaiting(@Param("ids") Collection<Long> ids, @Param("waiting") Status waiting,
+                      @Param("expired") Status expired);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status IN ?2 AND b.end > ?3")
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+    List<BookingShort> findActiveByItemId(Long itemId, Collection<Status> statuses, LocalDateTime dateTime);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :approved, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :waiting " +
+            "AND b.ownerId = :ownerId " +
+            "AND NOT EXISTS (SELECT o.id FROM Booking o WHERE o.item = b.item AND o.status = :approved " +
+            "AND o.start < b.end AND o.end > b.start)")
+    int approveWaiting(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId,
+                       @Param("waiting") Status waiting, @Param("approved") Status approved);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :rejected, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :waiting " +
+            "AND b.ownerId = :ownerId")
+    int rejectWaiting(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId,
+                      @Param("waiting") Status waiting, @Param("rejected") Status rejected);
+}
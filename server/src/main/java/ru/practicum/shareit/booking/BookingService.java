@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 
 import java.util.List;
 
@@ -11,9 +14,15 @@ public interface BookingService {
 
     BookingResponseDto updateBooking(Long userId, Long id, Boolean approved);
 
+    List<BookingBatchResultDto> updateBookings(Long userId, List<BookingDecisionDto> decisions);
+
     BookingResponseDto getByIdBooking(Long userId, Long id);
 
     List<BookingResponseDto> getAllByBookerId(Long userId, State state, Pageable pageable);
 
     List<BookingResponseDto> getAllByOwnerId(Long userId, State state, Pageable pageable);
+
+    BookingStatsDto getStatsByBookerId(Long userId);
+
+    BookingStatsDto getStatsByOwnerId(Long userId);
 }
\ No newline at end of file
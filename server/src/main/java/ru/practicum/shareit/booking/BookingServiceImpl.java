@@ -2,20 +2,40 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.item.Item;
-import ru.practicum.shareit.item.ItemService;
-import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.item.ItemCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserExistenceChecker;
+import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,9 +44,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
-    private final UserService userService;
+    private final UserExistenceChecker existenceChecker;
     private final BookingMapper bookingMapper;
-    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemCache itemCache;
+    private final ItemBookingSummaryService summaryService;
+    private final BookingIntervalIndex intervalIndex;
+    private final BookedDaysIndex bookedDays;
+    private final BookingItemLocks itemLocks;
+    private final BookingStatsCache statsCache;
+    private final BookingEventService eventService;
+    private final ArchivedBookingRepository archiveRepository;
+    @Value("${shareit.booking.archive.enabled:false}")
+    private boolean archiveEnabled;
 
     @Override
     @Transactional
@@ -35,39 +66,168 @@ public class BookingServiceImpl implements BookingService {
         if (bookingRequestDto.getEnd().isBefore(bookingRequestDto.getStart())) {
             throw new BookingException("Недопустимое время брони.");
         }
-        Item item = itemService.getItemById(bookingRequestDto.getItemId());
-        if (!item.getAvailable()) {
+        BookingCreationView view = bookingRepository.findCreationView(bookingRequestDto.getItemId(), userId)
+                .orElseThrow(() -> new NotFoundException("Вещи с таким id не существует."));
+        if (!view.getItemAvailable()) {
             throw new BookingException("Предмет недоступен для бронирования.");
         }
-        User user = userService.getUserById(userId);
-
-        if (userId.equals(item.getOwner().getId())) {
+        if (view.getBookerId() == null) {
+            throw new NotFoundException("Пользователя с таким id не существует.");
+        }
+        if (userId.equals(view.getItemOwnerId())) {
             throw new NotFoundException("Владелец не может бронировать собственную вещь.");
         }
-        Booking booking = bookingMapper.requestDtoToBooking(bookingRequestDto, item, user, Status.WAITING);
-        return bookingMapper.bookingToBookingResponseDto(bookingRepository.save(booking));
+        itemLocks.lockUntilCompletion(view.getItemId());
+        Booking booking = bookingRepository.save(bookingMapper.requestDtoToBooking(bookingRequestDto,
+                itemRepository.getReferenceById(view.getItemId()), userRepository.getReferenceById(userId),
+                view.getItemOwnerId(), Status.WAITING));
+        intervalIndex.reserve(view.getItemId(), booking.getId(), booking.getStart(), booking.getEnd());
+        statsCache.evict(List.of(userId), List.of(booking.getOwnerId()));
+        eventService.publish(booking);
+        return bookingMapper.toBookingResponseDto(bookingMapper.toBookingView(booking, view));
     }
 
     @Override
     @Transactional
+    @Retryable(value = ConcurrencyFailureException.class, maxAttempts = 4,
+            backoff = @Backoff(delay = 50, multiplier = 2, random = true))
     public BookingResponseDto updateBooking(Long userId, Long id, Boolean approved) {
         log.info("Обновление статуса бронирования {}.", id);
-        Booking repoBooking = getBookingById(id);
-        if (!userId.equals(repoBooking.getItem().getOwner().getId())) {
-            throw new NotFoundException("Изменение статуса бронирования доступно только владельцу.");
+        int updated = updateStatus(userId, List.of(id), approved);
+        BookingView booking = bookingRepository.findViewsByIdIn(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Бронирование с таким id не существует."));
+        if (updated == 0) {
+            if (!userId.equals(booking.getItemOwnerId())) {
+                throw new NotFoundException("Изменение статуса бронирования доступно только владельцу.");
+            }
+            if (!booking.getStatus().equals(Status.WAITING)) {
+                throw new BookingException("Ответ по бронированию уже дан.");
+            }
+            throw new ConflictException("Вещь уже забронирована на это время.");
         }
-        if (!repoBooking.getStatus().equals(Status.WAITING)) {
-            throw new BookingException("Ответ по бронированию уже дан.");
+        statsCache.evict(List.of(booking.getBookerId()), List.of(userId));
+        eventService.publishAll(List.of(booking));
+        if (approved) {
+            summaryService.refreshSummaries(List.of(booking.getItemId()));
+            itemCache.evict(booking.getItemId());
+            bookedDays.markBooked(booking.getItemId(), booking.getStart(), booking.getEnd());
+        } else {
+            intervalIndex.release(booking.getItemId(), booking.getId(), booking.getStart());
         }
-        repoBooking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
-        return bookingMapper.bookingToBookingResponseDto(bookingRepository.save(repoBooking));
+        return bookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Override
+    @Transactional
+    @Retryable(value = ConcurrencyFailureException.class, maxAttempts = 4,
+            backoff = @Backoff(delay = 50, multiplier = 2, random = true))
+    public List<BookingBatchResultDto> updateBookings(Long userId, List<BookingDecisionDto> decisions) {
+        log.info("Обновление статусов {} бронирований пользователем с ID {}.", decisions.size(), userId);
+        Map<Long, BookingView> bookings = findViewsById(decisions.stream()
+                .map(BookingDecisionDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        String[] errors = new String[decisions.size()];
+        HttpStatus[] statuses = new HttpStatus[decisions.size()];
+        Set<Long> seen = new HashSet<>();
+        List<BookingView> approving = new ArrayList<>();
+        List<Long> approveIds = new ArrayList<>();
+        List<Long> rejectIds = new ArrayList<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDto decision = decisions.get(i);
+            BookingView booking = bookings.get(decision.getId());
+            if (decision.getId() == null || decision.getApproved() == null) {
+                statuses[i] = HttpStatus.BAD_REQUEST;
+                errors[i] = "Не указан id бронирования или решение.";
+            } else if (!seen.add(decision.getId())) {
+                statuses[i] = HttpStatus.BAD_REQUEST;
+                errors[i] = "Бронирование указано повторно.";
+            } else if (booking == null) {
+                statuses[i] = HttpStatus.NOT_FOUND;
+                errors[i] = "Бронирование с таким id не существует.";
+            } else if (!userId.equals(booking.getItemOwnerId())) {
+                statuses[i] = HttpStatus.NOT_FOUND;
+                errors[i] = "Изменение статуса бронирования доступно только владельцу.";
+            } else if (!Status.WAITING.equals(booking.getStatus())) {
+                statuses[i] = HttpStatus.BAD_REQUEST;
+                errors[i] = "Ответ по бронированию уже дан.";
+            } else if (!decision.getApproved()) {
+                rejectIds.add(booking.getId());
+            } else if (approving.stream().anyMatch(other -> overlaps(other, booking))) {
+                errors[i] = "Вещь уже забронирована на это время.";
+                statuses[i] = HttpStatus.CONFLICT;
+            } else {
+                approving.add(booking);
+                approveIds.add(booking.getId());
+            }
+        }
+        if (!approveIds.isEmpty()) {
+            updateStatus(userId, approveIds, true);
+        }
+        if (!rejectIds.isEmpty()) {
+            updateStatus(userId, rejectIds, false);
+        }
+        Map<Long, BookingView> updated = findViewsById(seen);
+        List<BookingBatchResultDto> results = new ArrayList<>(decisions.size());
+        Set<Long> approvedItemIds = new HashSet<>();
+        Set<Long> bookerIds = new HashSet<>();
+        List<BookingView> changed = new ArrayList<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDto decision = decisions.get(i);
+            BookingView booking = updated.get(decision.getId());
+            if (errors[i] == null) {
+                Status target = decision.getApproved() ? Status.APPROVED : Status.REJECTED;
+                if (target.equals(booking.getStatus())) {
+                    bookerIds.add(booking.getBookerId());
+                    changed.add(booking);
+                    if (decision.getApproved()) {
+                        approvedItemIds.add(booking.getItemId());
+                        bookedDays.markBooked(booking.getItemId(), booking.getStart(), booking.getEnd());
+                    } else {
+                        intervalIndex.release(booking.getItemId(), booking.getId(), booking.getStart());
+                    }
+                } else if (Status.WAITING.equals(booking.getStatus())) {
+                    statuses[i] = HttpStatus.CONFLICT;
+                    errors[i] = "Вещь уже забронирована на это время.";
+                } else {
+                    statuses[i] = HttpStatus.BAD_REQUEST;
+                    errors[i] = "Ответ по бронированию уже дан.";
+                }
+            }
+            results.add(BookingBatchResultDto.builder()
+                    .id(decision.getId())
+                    .status(errors[i] == null ? HttpStatus.OK.value() : statuses[i].value())
+                    .booking(errors[i] == null ? bookingMapper.toBookingResponseDto(booking) : null)
+                    .error(errors[i])
+                    .build());
+        }
+        if (!approvedItemIds.isEmpty()) {
+            summaryService.refreshSummaries(approvedItemIds);
+            approvedItemIds.forEach(itemCache::evict);
+        }
+        if (!changed.isEmpty()) {
+            statsCache.evict(bookerIds, List.of(userId));
+            eventService.publishAll(changed);
+        }
+        return results;
     }
 
     @Override
     public BookingResponseDto getByIdBooking(Long userId, Long id) {
         log.info("Вывод бронирования с ID {}.", id);
-        Booking booking = getBookingById(id);
-        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
+        Optional<Booking> hotBooking = bookingRepository.findById(id);
+        if (hotBooking.isEmpty() && archiveEnabled) {
+            BookingView archived = archiveRepository.findViewById(id)
+                    .orElseThrow(() -> new NotFoundException("Бронирование с таким id не существует."));
+            if (!userId.equals(archived.getBookerId()) && !userId.equals(archived.getItemOwnerId())) {
+                throw new NotFoundException("Просмотр бронирования доступно только автору или владельцу.");
+            }
+            return bookingMapper.toBookingResponseDto(archived);
+        }
+        Booking booking = hotBooking
+                .orElseThrow(() -> new NotFoundException("Бронирование с таким id не существует."));
+        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getOwnerId())) {
             throw new NotFoundException("Просмотр бронирования доступно только автору или владельцу.");
         }
         return bookingMapper.bookingToBookingResponseDto(booking);
@@ -76,75 +236,117 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingResponseDto> getAllByBookerId(Long userId, State state, Pageable pageable) {
         log.info("Вывод всех вещей забронированных пользователя {} со статусом {}.", userId, state);
-        userService.getUserById(userId);
-        List<Booking> bookings = null;
-        LocalDateTime dateTime = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable).toList();
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, dateTime, dateTime, pageable).toList();
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBeforeAndStatusEqualsOrderByStartDesc(
-                        userId, dateTime, Status.APPROVED, pageable).toList();
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
-                        userId, dateTime, pageable).toList();
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(
-                        userId, Status.WAITING, pageable).toList();
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(
-                        userId, Status.REJECTED, pageable).toList();
-        }
-        return bookings.stream()
-                .map(bookingMapper::bookingToBookingResponseDto)
-                .collect(Collectors.toList());
+        existenceChecker.requireExists(userId);
+        BookingFilter filter = BookingFilter.of(state, LocalDateTime.now());
+        return findWithArchive(filter, pageable,
+                page -> bookingRepository.findViewsByBookerId(userId, filter.getStatuses(), filter.getStartAfter(),
+                        filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(), page),
+                () -> bookingRepository.countViewsByBookerId(userId, filter.getStatuses(), filter.getStartAfter(),
+                        filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore()),
+                page -> archiveRepository.findViewsByBookerId(userId, filter.getStatuses(), filter.getStartAfter(),
+                        filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(), page));
     }
 
     @Override
     public List<BookingResponseDto> getAllByOwnerId(Long userId, State state, Pageable pageable) {
         log.info("Вывод всех вещей пользователя {} со статусом {}.", userId, state);
-        userService.getUserById(userId);
-        List<Booking> bookings = null;
-        LocalDateTime dateTime = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, pageable).toList();
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, dateTime, dateTime, pageable).toList();
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndBeforeAndStatusEqualsOrderByStartDesc(
-                        userId, dateTime, Status.APPROVED, pageable).toList();
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(
-                        userId, dateTime, pageable).toList();
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusEqualsOrderByStartDesc(
-                        userId, Status.WAITING, pageable).toList();
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusEqualsOrderByStartDesc(
-                        userId, Status.REJECTED, pageable).toList();
+        existenceChecker.requireExists(userId);
+        BookingFilter filter = BookingFilter.of(state, LocalDateTime.now());
+        return findWithArchive(filter, pageable,
+                page -> bookingRepository.findViewsByOwnerId(userId, filter.getStatuses(), filter.getStartAfter(),
+                        filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(), page),
+                () -> bookingRepository.countViewsByOwnerId(userId, filter.getStatuses(), filter.getStartAfter(),
+                        filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore()),
+                page -> archiveRepository.findViewsByOwnerId(userId, filter.getStatuses(), filter.getStartAfter(),
+                        filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(), page));
+    }
+
+    @Override
+    public BookingStatsDto getStatsByBookerId(Long userId) {
+        log.info("Вывод количества бронирований пользователя {} по статусам.", userId);
+        return statsCache.getBookerStats(userId, id -> {
+            existenceChecker.requireExists(id);
+            LocalDateTime now = LocalDateTime.now();
+            BookingStatsDto stats = bookingRepository.countStatsByBookerId(id, now,
+                    Status.APPROVED, Status.WAITING, Status.REJECTED, Status.EXPIRED);
+            return archiveEnabled ? sum(stats, archiveRepository.countStatsByBookerId(id, now,
+                    Status.APPROVED, Status.WAITING, Status.REJECTED, Status.EXPIRED)) : stats;
+        });
+    }
+
+    @Override
+    public BookingStatsDto getStatsByOwnerId(Long userId) {
+        log.info("Вывод количества бронирований вещей пользователя {} по статусам.", userId);
+        return statsCache.getOwnerStats(userId, id -> {
+            existenceChecker.requireExists(id);
+            LocalDateTime now = LocalDateTime.now();
+            BookingStatsDto stats = bookingRepository.countStatsByOwnerId(id, now,
+                    Status.APPROVED, Status.WAITING, Status.REJECTED, Status.EXPIRED);
+            return archiveEnabled ? sum(stats, archiveRepository.countStatsByOwnerId(id, now,
+                    Status.APPROVED, Status.WAITING, Status.REJECTED, Status.EXPIRED)) : stats;
+        });
+    }
+
+    private Map<Long, BookingView> findViewsById(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
         }
-        return bookings.stream()
-                .map(bookingMapper::bookingToBookingResponseDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookingView::getId, Function.identity()));
     }
 
-    private Booking getBookingById(Long id) {
-        return bookingRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Бронирование с таким id не существует."));
+    private boolean overlaps(BookingView first, BookingView second) {
+        return first.getItemId().equals(second.getItemId())
+                && first.getStart().isBefore(second.getEnd())
+                && second.getStart().isBefore(first.getEnd());
+    }
+
+    private int updateStatus(Long userId, List<Long> ids, boolean approved) {
+        if (approved) {
+            itemRepository.lockByBookingIdIn(ids);
+        }
+        try {
+            return approved
+                    ? bookingRepository.approveWaiting(ids, userId, Status.WAITING, Status.APPROVED)
+                    : bookingRepository.rejectWaiting(ids, userId, Status.WAITING, Status.REJECTED);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Вещь уже забронирована на это время.");
+        }
+    }
+
+    private List<BookingResponseDto> findWithArchive(BookingFilter filter, Pageable pageable,
+                                                     Function<Pageable, Slice<BookingView>> hot,
+                                                     LongSupplier hotCount,
+                                                     Function<Pageable, Slice<BookingView>> archive) {
+        Slice<BookingView> bookings = hot.apply(pageable);
+        List<BookingResponseDto> result = toBookingResponseDtos(bookings);
+        if (!archiveEnabled || !filter.isArchived() || result.size() == pageable.getPageSize()) {
+            return result;
+        }
+        long hotTotal = bookings.hasContent() || pageable.getOffset() == 0
+                ? pageable.getOffset() + bookings.getNumberOfElements()
+                : hotCount.getAsLong();
+        long archiveOffset = Math.max(0, pageable.getOffset() - hotTotal);
+        result.addAll(toBookingResponseDtos(archive.apply(
+                new OffsetPageRequest(archiveOffset, pageable.getPageSize() - result.size(), pageable.getSort()))));
+        return result;
+    }
+
+    private BookingStatsDto sum(BookingStatsDto hot, BookingStatsDto archived) {
+        return BookingStatsDto.builder()
+                .all(hot.getAll() + archived.getAll())
+                .current(hot.getCurrent() + archived.getCurrent())
+                .past(hot.getPast() + archived.getPast())
+                .future(hot.getFuture() + archived.getFuture())
+                .waiting(hot.getWaiting() + archived.getWaiting())
+                .rejected(hot.getRejected() + archived.getRejected())
+                .expired(hot.getExpired() + archived.getExpired())
+                .build();
+    }
+
+    private List<BookingResponseDto> toBookingResponseDtos(Slice<BookingView> bookings) {
+        return bookings.stream()
+                .map(bookingMapper::toBookingResponseDto)
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
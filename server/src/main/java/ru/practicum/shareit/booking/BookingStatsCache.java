@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+public class BookingStatsCache {
+    private final Cache<Long, BookingStatsDto> bookerStats;
+    private final Cache<Long, BookingStatsDto> ownerStats;
+
+    public BookingStatsCache(@Value("${shareit.booking.stats.spec}") String spec) {
+        this.bookerStats = Caffeine.from(spec).build();
+        this.ownerStats = Caffeine.from(spec).build();
+    }
+
+    public BookingStatsDto getBookerStats(Long userId, Function<Long, BookingStatsDto> loader) {
+        return bookerStats.get(userId, loader);
+    }
+
+    public BookingStatsDto getOwnerStats(Long userId, Function<Long, BookingStatsDto> loader) {
+        return ownerStats.get(userId, loader);
+    }
+
+    public void evict(Collection<Long> bookerIds, Collection<Long> ownerIds) {
+        afterCommit(() -> {
+            bookerStats.invalidateAll(bookerIds);
+            ownerStats.invalidateAll(ownerIds);
+        });
+    }
+}
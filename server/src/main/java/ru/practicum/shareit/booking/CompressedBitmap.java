@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompressedBitmap {
+    private static final int CONTAINER_WORDS = 1 << 10;
+    private static final int ARRAY_LIMIT = 4096;
+
+    private final Map<Long, Container> containers = new HashMap<>();
+
+    public void add(long value) {
+        containers.compute(value >>> 16, (key, container) ->
+                (container == null ? new ArrayContainer() : container).add((char) value));
+    }
+
+    public void orInto(Map<Long, long[]> words) {
+        containers.forEach((high, container) ->
+                container.orInto(words.computeIfAbsent(high, key -> new long[CONTAINER_WORDS])));
+    }
+
+    public static boolean contains(Map<Long, long[]> words, long value) {
+        long[] container = words.get(value >>> 16);
+        return container != null && (container[(int) (value >>> 6) & CONTAINER_WORDS - 1] & 1L << value) != 0;
+    }
+
+    private interface Container {
+        Container add(char value);
+
+        void orInto(long[] words);
+    }
+
+    private static final class ArrayContainer implements Container {
+        char[] values = new char[4];
+        int size;
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_LIMIT) {
+                BitmapContainer bitmap = new BitmapContainer();
+                for (int i = 0; i < size; i++) {
+                    bitmap.add(values[i]);
+                }
+                return bitmap.add(value);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        public void orInto(long[] words) {
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        final long[] bits = new long[CONTAINER_WORDS];
+
+        @Override
+        public Container add(char value) {
+            bits[value >>> 6] |= 1L << value;
+            return this;
+        }
+
+        @Override
+        public void orInto(long[] words) {
+            for (int i = 0; i < CONTAINER_WORDS; i++) {
+                words[i] |= bits[i];
+            }
+        }
+    }
+}
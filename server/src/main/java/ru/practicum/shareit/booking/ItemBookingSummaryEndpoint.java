@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "bookingsummary")
+@RequiredArgsConstructor
+public class ItemBookingSummaryEndpoint {
+    private final ItemBookingSummaryService summaryService;
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("items", summaryService.rebuildSummaries());
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemBookingSummary> findByItemIdInOrderByItemIdAsc(Collection<Long> itemIds);
+
+    @Query("SELECT s.itemId AS itemId, s.lastBookingId AS lastBookingId, " +
+            "lb.id AS lastId, lb.booker.id AS lastBookerId, lb.start AS lastStart, lb.end AS lastEnd, " +
+            "nb.id AS nextId, nb.booker.id AS nextBookerId, nb.start AS nextStart, nb.end AS nextEnd " +
+            "FROM ItemBookingSummary s " +
+            "LEFT JOIN Booking lb ON lb.id = s.lastBookingId " +
+            "LEFT JOIN Booking nb ON nb.id = s.nextBookingId " +
+            "WHERE s.itemId IN ?1")
+    List<ItemBookingSummaryView> findViewByItemIdIn(Collection<Long> itemIds);
+
+    @Query("SELECT s.itemId " +
+            "FROM ItemBookingSummary s, Booking nb " +
+            "WHERE nb.id = s.nextBookingId AND nb.start <= ?1 " +
+            "ORDER BY s.itemId")
+    List<Long> findItemIdsWithStartedNextBooking(LocalDateTime dateTime);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO ITEM_BOOKING_SUMMARY (ITEM_ID) SELECT i.ID FROM ITEMS i WHERE i.ID IN ?1",
+            nativeQuery = true)
+    int insertEmpty(Collection<Long> itemIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO ITEM_BOOKING_SUMMARY (ITEM_ID, LAST_BOOKING_ID, NEXT_BOOKING_ID) " +
+            "SELECT i.ID, " +
+            "(SELECT b.ID FROM BOOKINGS b " +
+            "WHERE b.ITEM_ID = i.ID AND b.STATUS = ?2 AND b.START_DATE < ?1 " +
+            "ORDER BY b.START_DATE DESC LIMIT 1), " +
+            "(SELECT b.ID FROM BOOKINGS b " +
+            "WHERE b.ITEM_ID = i.ID AND b.STATUS = ?2 AND b.START_DATE > ?1 " +
+            "ORDER BY b.START_DATE ASC LIMIT 1) " +
+            "FROM ITEMS i",
+            nativeQuery = true)
+    int insertAllFromBookings(LocalDateTime dateTime, short status);
+
+    @Modifying
+    @Query(value = "UPDATE ITEM_BOOKING_SUMMARY s SET LAST_BOOKING_ID = " +
+            "(SELECT b.ID FROM BOOKINGS_ARCHIVE b " +
+            "WHERE b.ITEM_ID = s.ITEM_ID AND b.STATUS = ?2 AND b.START_DATE < ?1 " +
+            "ORDER BY b.START_DATE DESC LIMIT 1) " +
+            "WHERE s.LAST_BOOKING_ID IS NULL",
+            nativeQuery = true)
+    int fillMissingLastBookings(LocalDateTime dateTime, short status);
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.ItemBookingsDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ItemBookingSummaryService {
+    void createSummaries(Collection<Long> itemIds);
+
+    void refreshSummaries(Collection<Long> itemIds);
+
+    int rebuildSummaries();
+
+    List<Long> getStaleItemIds();
+
+    Map<Long, ItemBookingsDto> getItemBookings(List<Long> itemIds);
+}
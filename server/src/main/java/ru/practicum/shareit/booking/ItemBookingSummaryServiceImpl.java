@@ -0,0 +1,145 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingsDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.Status.APPROVED;
+
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ArchivedBookingRepository archiveRepository;
+    @Value("${shareit.booking.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Override
+    @Transactional
+    public void createSummaries(Collection<Long> itemIds) {
+        summaryRepository.insertEmpty(itemIds);
+    }
+
+    @Override
+    @Transactional
+    public void refreshSummaries(Collection<Long> itemIds) {
+        log.info("Пересчёт сводки бронирований вещей с ID {}.", itemIds);
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findByItemIdInOrderByItemIdAsc(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        LocalDateTime dateTime = LocalDateTime.now();
+        Map<Long, BookingShort> lastBookings = findLastBookings(itemIds, dateTime);
+        Map<Long, BookingShort> nextBookings = toBookingsByItemId(
+                bookingRepository.findNextByItemIdIn(itemIds, dateTime, APPROVED));
+        for (Long itemId : itemIds) {
+            ItemBookingSummary summary = summaries.computeIfAbsent(itemId, id -> ItemBookingSummary.builder()
+                    .itemId(id)
+                    .build());
+            summary.setLastBookingId(lastBookings.containsKey(itemId) ? lastBookings.get(itemId).getId() : null);
+            summary.setNextBookingId(nextBookings.containsKey(itemId) ? nextBookings.get(itemId).getId() : null);
+        }
+        summaryRepository.saveAll(summaries.values());
+    }
+
+    @Override
+    @Transactional
+    public int rebuildSummaries() {
+        log.info("Перестроение сводки бронирований всех вещей.");
+        summaryRepository.deleteAllInBatch();
+        LocalDateTime dateTime = LocalDateTime.now();
+        int rebuilt = summaryRepository.insertAllFromBookings(dateTime, APPROVED.getCode());
+        if (archiveEnabled) {
+            summaryRepository.fillMissingLastBookings(dateTime, APPROVED.getCode());
+        }
+        return rebuilt;
+    }
+
+    @Override
+    public List<Long> getStaleItemIds() {
+        return summaryRepository.findItemIdsWithStartedNextBooking(LocalDateTime.now());
+    }
+
+    @Override
+    public Map<Long, ItemBookingsDto> getItemBookings(List<Long> itemIds) {
+        Map<Long, ItemBookingsDto> itemBookings = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return itemBookings;
+        }
+        LocalDateTime dateTime = LocalDateTime.now();
+        List<ItemBookingSummaryView> archivedLast = new ArrayList<>();
+        for (ItemBookingSummaryView view : summaryRepository.findViewByItemIdIn(itemIds)) {
+            if (view.getNextStart() == null || view.getNextStart().isAfter(dateTime)) {
+                if (view.getLastBookingId() != null && view.getLastId() == null) {
+                    archivedLast.add(view);
+                    continue;
+                }
+                itemBookings.put(view.getItemId(), ItemBookingsDto.builder()
+                        .lastBooking(view.getLastId() == null ? null : bookingMapper.toLastBookingItemDto(view))
+                        .nextBooking(view.getNextId() == null ? null : bookingMapper.toNextBookingItemDto(view))
+                        .build());
+            }
+        }
+        if (archiveEnabled && !archivedLast.isEmpty()) {
+            Map<Long, BookingShort> archived = archiveRepository.findShortByIdIn(archivedLast.stream()
+                            .map(ItemBookingSummaryView::getLastBookingId)
+                            .collect(Collectors.toList())).stream()
+                    .collect(Collectors.toMap(BookingShort::getId, Function.identity()));
+            for (ItemBookingSummaryView view : archivedLast) {
+                if (archived.containsKey(view.getLastBookingId())) {
+                    itemBookings.put(view.getItemId(), ItemBookingsDto.builder()
+                            .lastBooking(bookingMapper.toBookingItemDto(archived.get(view.getLastBookingId())))
+                            .nextBooking(view.getNextId() == null ? null : bookingMapper.toNextBookingItemDto(view))
+                            .build());
+                }
+            }
+        }
+        List<Long> missingItemIds = itemIds.stream()
+                .filter(itemId -> !itemBookings.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (!missingItemIds.isEmpty()) {
+            Map<Long, BookingShort> lastBookings = findLastBookings(missingItemIds, dateTime);
+            Map<Long, BookingShort> nextBookings = toBookingsByItemId(
+                    bookingRepository.findNextByItemIdIn(missingItemIds, dateTime, APPROVED));
+            for (Long itemId : missingItemIds) {
+                itemBookings.put(itemId, ItemBookingsDto.builder()
+                        .lastBooking(bookingMapper.toBookingItemDto(lastBookings.get(itemId)))
+                        .nextBooking(bookingMapper.toBookingItemDto(nextBookings.get(itemId)))
+                        .build());
+            }
+        }
+        return itemBookings;
+    }
+
+    private Map<Long, BookingShort> findLastBookings(Collection<Long> itemIds, LocalDateTime dateTime) {
+        Map<Long, BookingShort> lastBookings = toBookingsByItemId(
+                bookingRepository.findLastByItemIdIn(itemIds, dateTime, APPROVED));
+        if (archiveEnabled && lastBookings.size() < itemIds.size()) {
+            List<Long> archivedItemIds = itemIds.stream()
+                    .filter(itemId -> !lastBookings.containsKey(itemId))
+                    .collect(Collectors.toList());
+            toBookingsByItemId(archiveRepository.findLastByItemIdIn(archivedItemIds, dateTime, APPROVED))
+                    .forEach(lastBookings::putIfAbsent);
+        }
+        return lastBookings;
+    }
+
+    private Map<Long, BookingShort> toBookingsByItemId(List<BookingShort> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, Function.identity(), (first, second) -> first));
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemBookingSummarySweeper {
+    private static final int CHUNK_SIZE = 100;
+
+    private final ItemBookingSummaryService summaryService;
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.sweep-delay}")
+    public void sweep() {
+        List<Long> itemIds = summaryService.getStaleItemIds();
+        for (int from = 0; from < itemIds.size(); from += CHUNK_SIZE) {
+            summaryService.refreshSummaries(itemIds.subList(from, Math.min(from + CHUNK_SIZE, itemIds.size())));
+        }
+        if (!itemIds.isEmpty()) {
+            log.info("Сводка бронирований обновлена для {} вещей.", itemIds.size());
+        }
+    }
+}
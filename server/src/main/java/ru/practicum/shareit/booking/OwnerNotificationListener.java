@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class OwnerNotificationListener implements BookingEventListener {
+    @Override
+    public void onBookingEvent(BookingEvent event) {
+        if (Status.WAITING.equals(event.getStatus())) {
+            log.info("Уведомление владельцу {}: новое бронирование {} вещи {}.",
+                    event.getOwnerId(), event.getBookingId(), event.getItemId());
+        }
+    }
+}
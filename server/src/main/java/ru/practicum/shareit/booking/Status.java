@@ -1,8 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
 public enum Status {
-    WAITING,
-    APPROVED,
-    REJECTED,
-    CANCELED
-}
\ No newline at end of file
+    WAITING((short) 0),
+    APPROVED((short) 1),
+    REJECTED((short) 2),
+    CANCELED((short) 3),
+    EXPIRED((short) 4);
+
+    private final short code;
+
+    public static Status ofCode(short code) {
+        return Arrays.stream(values())
+                .filter(status -> status.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный код статуса бронирования: " + code));
+    }
+}
@@ -1,9 +1,18 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByItemId(Long itemId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByItemIdInOrderByCreatedAsc(Collection<Long> itemIds);
+
+    @Query("SELECT DISTINCT c.itemId FROM Comment c WHERE c.author.id = ?1")
+    List<Long> findItemIdsByAuthorId(Long authorId);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@Builder
+public class CursorPageDto<T> {
+    List<T> items;
+    String nextCursor;
+}
@@ -21,7 +21,9 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.util.List;
 import java.util.Objects;
 
@@ -36,7 +38,8 @@ import java.util.Objects;
 @Builder
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "ITEMS_SEQ", allocationSize = 50)
     Long id;
     @Column(nullable = false)
     String name;
@@ -54,6 +57,9 @@ public class Item {
     List<Comment> comments;
     @Column(name = "REQUEST_ID")
     Long requestId;
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    Long version;
 
     @Override
     public boolean equals(Object o) {
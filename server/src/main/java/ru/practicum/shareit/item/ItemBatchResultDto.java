@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@Builder
+public class ItemBatchResultDto {
+    Integer index;
+    ItemDto item;
+    String error;
+}
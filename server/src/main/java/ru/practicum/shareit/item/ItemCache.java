@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import ru.practicum.shareit.util.SyncSupport;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+public class ItemCache {
+    public static final String NAME = "items";
+    private static final int STRIPES = 1024;
+
+    private final Cache cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public ItemCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(NAME));
+    }
+
+    public Optional<ItemExtendedDto> get(Long id) {
+        return Optional.ofNullable(cache.get(id, ItemExtendedDto.class));
+    }
+
+    public long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    public void put(ItemExtendedDto itemExtendedDto, long generation) {
+        afterCommit(() -> {
+            Long id = itemExtendedDto.getId();
+            if (generations.get(stripe(id)) != generation) {
+                return;
+            }
+            cache.put(id, itemExtendedDto);
+            if (generations.get(stripe(id)) != generation) {
+                cache.evict(id);
+            }
+        });
+    }
+
+    public void evict(Long id) {
+        afterCommit(() -> {
+            generations.incrementAndGet(stripe(id));
+            cache.evict(id);
+        });
+    }
+
+    private static int stripe(Long id) {
+        return SyncSupport.stripe(id, STRIPES);
+    }
+}
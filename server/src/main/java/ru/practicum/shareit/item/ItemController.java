@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,7 +13,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.user.UserController.*;
@@ -36,6 +40,18 @@ public class ItemController {
         return itemService.updateItem(userId, id, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemBatchResultDto> createItems(@RequestHeader(headerUserId) Long userId,
+                                                @RequestBody List<ItemDto> itemDtos) {
+        return itemService.createItems(userId, itemDtos);
+    }
+
+    @PatchMapping("/batch")
+    public List<ItemBatchResultDto> updateItems(@RequestHeader(headerUserId) Long userId,
+                                                @RequestBody List<ItemDto> itemDtos) {
+        return itemService.updateItems(userId, itemDtos);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteItem(@PathVariable Long id) {
         itemService.deleteItem(id);
@@ -48,6 +64,13 @@ public class ItemController {
         return itemService.getByOwnerId(userId, PageRequest.of(from / size, size));
     }
 
+    @GetMapping(params = "cursor")
+    public CursorPageDto<ItemExtendedDto> getByOwnerId(@RequestHeader(headerUserId) Long userId,
+                                                       @RequestParam String cursor,
+                                                       @RequestParam Integer size) {
+        return itemService.getByOwnerId(userId, cursor, size);
+    }
+
     @GetMapping("/{id}")
     public ItemExtendedDto getByIdItem(@RequestHeader(headerUserId) Long userId,
                                        @PathVariable Long id) {
@@ -56,9 +79,38 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> searchItem(@RequestParam String text,
+                                    @RequestParam(required = false)
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                    @RequestParam(required = false)
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
                                     @RequestParam Integer from,
                                     @RequestParam Integer size) {
-        return itemService.searchItem(text, PageRequest.of(from / size, size));
+        return itemService.searchItem(text, start, end, PageRequest.of(from / size, size));
+    }
+
+    @GetMapping(path = "/search", params = "cursor")
+    public CursorPageDto<ItemDto> searchItem(@RequestParam String text,
+                                             @RequestParam(required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                             @RequestParam(required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+                                             @RequestParam String cursor,
+                                             @RequestParam Integer size) {
+        return itemService.searchItem(text, start, end, cursor, size);
+    }
+
+    @GetMapping("/{id}/availability")
+    public List<FreeSlotDto> getAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(id, from, to);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestItem(@RequestParam String prefix,
+                                    @RequestParam Integer size) {
+        return itemService.suggestItem(prefix, size);
     }
 
     @PostMapping("{id}/comment")
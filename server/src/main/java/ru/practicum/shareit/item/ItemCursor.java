@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemCursor {
+    private static final String SEPARATOR = ":";
+    private static final ItemCursor FIRST = new ItemCursor(null, 0L);
+
+    Double rank;
+    Long id;
+
+    public static ItemCursor of(Long id) {
+        return new ItemCursor(null, id);
+    }
+
+    public static ItemCursor of(Double rank, Long id) {
+        return new ItemCursor(rank, id);
+    }
+
+    public static ItemCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR);
+            if (parts.length == 1) {
+                return new ItemCursor(null, Long.parseLong(parts[0]));
+            }
+            return new ItemCursor(Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ValidationException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public boolean isBefore(double otherRank, long otherId) {
+        if (rank == null) {
+            return true;
+        }
+        return otherRank < rank || otherRank == rank && otherId > id;
+    }
+
+    public String encode() {
+        String value = rank == null ? String.valueOf(id) : rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,16 +2,70 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
 public interface ItemRepository extends JpaRepository<Item, Long> {
     Page<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
 
+    Slice<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @Query("SELECT i FROM Item i WHERE i.id > ?1 ORDER BY i.id")
+    List<Item> findAfter(Long id, Pageable pageable);
+
     @Query("SELECT i " +
             "FROM Item i " +
             "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%') ) " +
             "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) " +
             "AND i.available = true")
     Page<Item> search(String text, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT i " +
+            "FROM Item i " +
+            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%') ) " +
+            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) " +
+            "AND i.available = true " +
+            "AND i.id > ?2 " +
+            "ORDER BY i.id")
+    Slice<Item> searchAfter(String text, Long id, Pageable pageable);
+
+    @Query(value = "SELECT i.* " +
+            "FROM ITEMS i " +
+            "WHERE i.AVAILABLE = TRUE " +
+            "AND (i.SEARCH_VECTOR @@ plainto_tsquery('simple', ?1) " +
+            "OR i.NAME ILIKE CONCAT('%', ?1, '%') " +
+            "OR i.DESCRIPTION ILIKE CONCAT('%', ?1, '%')) " +
+            "ORDER BY ts_rank(i.SEARCH_VECTOR, plainto_tsquery('simple', ?1)) DESC, i.ID",
+            countQuery = "SELECT COUNT(*) " +
+                    "FROM ITEMS i " +
+                    "WHERE i.AVAILABLE = TRUE " +
+                    "AND (i.SEARCH_VECTOR @@ plainto_tsquery('simple', ?1) " +
+                    "OR i.NAME ILIKE CONCAT('%', ?1, '%') " +
+                    "OR i.DESCRIPTION ILIKE CONCAT('%', ?1, '%'))",
+            nativeQuery = true)
+    Page<Item> searchFullText(String text, Pageable pageable);
+
+    @Query(value = "SELECT i.* " +
+            "FROM ITEMS i " +
+            "WHERE i.AVAILABLE = TRUE " +
+            "AND (i.SEARCH_VECTOR @@ plainto_tsquery('simple', ?1) " +
+            "OR i.NAME ILIKE CONCAT('%', ?1, '%') " +
+            "OR i.DESCRIPTION ILIKE CONCAT('%', ?1, '%')) " +
+            "AND i.ID > ?2 " +
+            "ORDER BY i.ID",
+            nativeQuery = true)
+    Slice<Item> searchFullTextAfter(String text, Long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN (SELECT b.item.id FROM Booking b WHERE b.id IN ?1) ORDER BY i.id")
+    List<Item> lockByBookingIdIn(Collection<Long> bookingIds);
+}
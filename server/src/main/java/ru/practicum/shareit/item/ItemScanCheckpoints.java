@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookedDaysIndex;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+public class ItemScanCheckpoints {
+    private final BookedDaysIndex bookedDays;
+    private final Cache<String, Long> checkpoints;
+    private final AtomicLong itemWrites = new AtomicLong();
+
+    public ItemScanCheckpoints(BookedDaysIndex bookedDays,
+                               @Value("${shareit.item.search.scan-checkpoints.spec}") String spec) {
+        this.bookedDays = bookedDays;
+        this.checkpoints = Caffeine.from(spec).build();
+    }
+
+    public String stamp() {
+        return itemWrites.get() + ":" + bookedDays.version();
+    }
+
+    public Optional<Long> get(String stamp, String text, LocalDate start, LocalDate end, long offset) {
+        return Optional.ofNullable(checkpoints.getIfPresent(key(stamp, text, start, end, offset)));
+    }
+
+    public void put(String stamp, String text, LocalDate start, LocalDate end, long offset, Long afterId) {
+        if (stamp.equals(stamp())) {
+            checkpoints.put(key(stamp, text, start, end, offset), afterId);
+        }
+    }
+
+    public void invalidate() {
+        afterCommit(() -> {
+            itemWrites.incrementAndGet();
+            checkpoints.invalidateAll();
+        });
+    }
+
+    private String key(String stamp, String text, LocalDate start, LocalDate end, long offset) {
+        return stamp + "|" + start + "|" + end + "|" + offset + "|" + text.toLowerCase(Locale.ROOT);
+    }
+}
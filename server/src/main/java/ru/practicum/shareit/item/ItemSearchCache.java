@@ -0,0 +1,146 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+public class ItemSearchCache {
+    public static final String NAME = "itemSearch";
+    private static final Pattern KEY_SEPARATOR = Pattern.compile("\\|");
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, ByteBuffer> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final JavaType itemListType;
+    private final JavaType itemPageType;
+
+    public ItemSearchCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${shareit.item.search.cache.maximum-bytes}") long maximumBytes,
+                           @Value("${shareit.item.search.cache.expire-after-write}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, ByteBuffer value) -> key.length() * Character.BYTES + value.capacity())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.itemListType = objectMapper.getTypeFactory().constructCollectionType(List.class, ItemDto.class);
+        this.itemPageType = objectMapper.getTypeFactory().constructParametricType(CursorPageDto.class, ItemDto.class);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("cache.hit.ratio", cache, value -> value.stats().hitRate())
+                .tag("cache", NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.off.heap.bytes", cache,
+                        value -> value.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .tag("cache", NAME)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<ItemDto> getPage(String text, long offset, int size, Supplier<List<ItemDto>> loader) {
+        return get(key("page", text, offset + ":" + size), itemListType, loader);
+    }
+
+    public CursorPageDto<ItemDto> getCursorPage(String text, String cursor, int size,
+                                                Supplier<CursorPageDto<ItemDto>> loader) {
+        return get(key("cursor", text, cursor + ":" + size), itemPageType, loader);
+    }
+
+    public void invalidate() {
+        afterCommit(this::evictAll);
+    }
+
+    public void invalidate(Collection<String> itemTexts) {
+        List<String> texts = itemTexts.stream()
+                .filter(Objects::nonNull)
+                .map(text -> text.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        if (!texts.isEmpty()) {
+            afterCommit(() -> evictMatching(texts));
+        }
+    }
+
+    private <T> T get(String key, JavaType type, Supplier<T> loader) {
+        ByteBuffer cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return read(cached, type);
+        }
+        long version = invalidations.get();
+        T value = loader.get();
+        if (invalidations.get() == version) {
+            cache.put(key, write(value));
+            if (invalidations.get() != version) {
+                cache.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    private String key(String mode, String text, String page) {
+        return generation.get() + "|" + mode + "|" + page + "|" + text.toLowerCase(Locale.ROOT);
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void evictMatching(List<String> texts) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> {
+            String query = KEY_SEPARATOR.split(key, 4)[3];
+            return texts.stream().anyMatch(text -> mayMatch(query, text));
+        });
+    }
+
+    private static boolean mayMatch(String query, String text) {
+        return DELIMITER.splitAsStream(query)
+                .filter(term -> !term.isEmpty())
+                .allMatch(text::contains);
+    }
+
+    private ByteBuffer write(Object value) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(value);
+            return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(ByteBuffer buffer, JavaType type) {
+        ByteBuffer source = buffer.duplicate();
+        byte[] bytes = new byte[source.remaining()];
+        source.get(bytes);
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
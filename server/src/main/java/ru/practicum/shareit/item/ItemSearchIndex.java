@@ -0,0 +1,407 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "memory")
+public class ItemSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Corpus corpus = new Corpus();
+    private List<Consumer<Corpus>> writesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Corpus fresh = new Corpus();
+        boolean loaded = false;
+        try {
+            long afterId = 0;
+            List<Item> page;
+            do {
+                page = itemRepository.findAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                page.forEach(fresh::put);
+                afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    writesDuringRebuild.forEach(write -> write.accept(fresh));
+                    corpus = fresh;
+                }
+                writesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Поисковый индекс вещей построен, проиндексировано {} вещей.", fresh.documents.size());
+    }
+
+    public void index(Item item) {
+        Long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        afterCommit(() -> write(target -> {
+            target.delete(id);
+            if (available) {
+                target.put(id, name, description);
+            }
+        }));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> write(target -> target.delete(id)));
+    }
+
+    public List<Long> search(String text, Pageable pageable, LongPredicate filter) {
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        TopHits hits = rank(text, limit, (itemId, score) -> filter.test(itemId));
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = (int) Math.min(pageable.getOffset(), hits.size); i < hits.size; i++) {
+            itemIds.add(hits.ids[i]);
+        }
+        return itemIds;
+    }
+
+    public List<ItemCursor> search(String text, ItemCursor after, int limit, LongPredicate filter) {
+        TopHits hits = rank(text, limit, (itemId, score) -> after.isBefore(score, itemId) && filter.test(itemId));
+        List<ItemCursor> cursors = new ArrayList<>(hits.size);
+        for (int i = 0; i < hits.size; i++) {
+            cursors.add(ItemCursor.of(hits.scores[i], hits.ids[i]));
+        }
+        return cursors;
+    }
+
+    private TopHits rank(String text, int limit, HitFilter filter) {
+        TopHits top = new TopHits(limit);
+        String[] terms = tokenize(text).distinct().toArray(String[]::new);
+        if (terms.length == 0 || limit == 0) {
+            return top.sorted();
+        }
+        lock.readLock().lock();
+        try {
+            int documentCount = corpus.documents.size();
+            if (documentCount == 0) {
+                return top.sorted();
+            }
+            double averageLength = (double) corpus.totalLength / documentCount;
+            ScoredIds matched = null;
+            for (String term : terms) {
+                List<Postings> termPostings = corpus.expand(term);
+                ScoredIds termHits = score(termPostings, 0, termPostings.size(), documentCount, averageLength);
+                matched = matched == null ? termHits : matched.intersect(termHits);
+                if (matched.size == 0) {
+                    return top.sorted();
+                }
+            }
+            for (int i = 0; i < matched.size; i++) {
+                if (filter.test(matched.ids[i], matched.scores[i])) {
+                    top.offer(matched.ids[i], matched.scores[i]);
+                }
+            }
+            return top.sorted();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ScoredIds score(List<Postings> termPostings, int from, int to, int documentCount, double averageLength) {
+        if (to - from == 0) {
+            return new ScoredIds(new long[0], new double[0], 0);
+        }
+        if (to - from == 1) {
+            return ScoredIds.of(termPostings.get(from), documentCount, averageLength);
+        }
+        int middle = (from + to) >>> 1;
+        return score(termPostings, from, middle, documentCount, averageLength)
+                .union(score(termPostings, middle, to, documentCount, averageLength));
+    }
+
+    private void write(Consumer<Corpus> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(corpus);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Stream<String> tokenize(String text) {
+        return Arrays.stream(DELIMITER.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty());
+    }
+
+    private static final class Corpus {
+        final NavigableMap<String, Postings> postings = new TreeMap<>();
+        final Map<Long, Document> documents = new HashMap<>();
+        long totalLength;
+
+        void put(Item item) {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                put(item.getId(), item.getName(), item.getDescription());
+            }
+        }
+
+        void put(Long id, String name, String description) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokenize(name + " " + description).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            Document document = new Document(frequencies.keySet().toArray(String[]::new),
+                    frequencies.values().stream().mapToInt(Integer::intValue).sum());
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new Postings())
+                    .add(id, frequency, document.length));
+            documents.put(id, document);
+            totalLength += document.length;
+        }
+
+        void delete(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms) {
+                Postings termPostings = postings.get(term);
+                termPostings.remove(id);
+                if (termPostings.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= document.length;
+        }
+
+        List<Postings> expand(String prefix) {
+            return new ArrayList<>(postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Document {
+        final String[] terms;
+        final int length;
+    }
+
+    private interface HitFilter {
+        boolean test(long itemId, double score);
+    }
+
+    private static final class Postings {
+        long[] itemIds = new long[4];
+        int[] frequencies = new int[4];
+        int[] lengths = new int[4];
+        int size;
+
+        void add(long itemId, int frequency, int length) {
+            int index = size == 0 || itemIds[size - 1] < itemId
+                    ? size
+                    : Arrays.binarySearch(itemIds, 0, size, itemId);
+            if (index >= 0 && index < size) {
+                frequencies[index] = frequency;
+                lengths[index] = length;
+                return;
+            }
+            index = index < 0 ? -index - 1 : index;
+            if (size == itemIds.length) {
+                itemIds = Arrays.copyOf(itemIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            System.arraycopy(itemIds, index, itemIds, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            System.arraycopy(lengths, index, lengths, index + 1, size - index);
+            itemIds[index] = itemId;
+            frequencies[index] = frequency;
+            lengths[index] = length;
+            size++;
+        }
+
+        void remove(long itemId) {
+            int index = Arrays.binarySearch(itemIds, 0, size, itemId);
+            if (index < 0) {
+                return;
+            }
+            size--;
+            System.arraycopy(itemIds, index + 1, itemIds, index, size - index);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index);
+            System.arraycopy(lengths, index + 1, lengths, index, size - index);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class ScoredIds {
+        final long[] ids;
+        final double[] scores;
+        final int size;
+
+        static ScoredIds of(Postings postings, int documentCount, double averageLength) {
+            double idf = Math.log(1 + (documentCount - postings.size + 0.5) / (postings.size + 0.5));
+            double[] scores = new double[postings.size];
+            for (int i = 0; i < postings.size; i++) {
+                int frequency = postings.frequencies[i];
+                scores[i] = idf * frequency * (K1 + 1)
+                        / (frequency + K1 * (1 - B + B * postings.lengths[i] / averageLength));
+            }
+            return new ScoredIds(Arrays.copyOf(postings.itemIds, postings.size), scores, postings.size);
+        }
+
+        ScoredIds union(ScoredIds other) {
+            long[] mergedIds = new long[size + other.size];
+            double[] mergedScores = new double[size + other.size];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || i < size && ids[i] < other.ids[j]) {
+                    mergedIds[k] = ids[i];
+                    mergedScores[k++] = scores[i++];
+                } else if (i == size || other.ids[j] < ids[i]) {
+                    mergedIds[k] = other.ids[j];
+                    mergedScores[k++] = other.scores[j++];
+                } else {
+                    mergedIds[k] = ids[i];
+                    mergedScores[k++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new ScoredIds(mergedIds, mergedScores, k);
+        }
+
+        ScoredIds intersect(ScoredIds other) {
+            long[] commonIds = new long[Math.min(size, other.size)];
+            double[] commonScores = new double[commonIds.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (other.ids[j] < ids[i]) {
+                    j++;
+                } else {
+                    commonIds[k] = ids[i];
+                    commonScores[k++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new ScoredIds(commonIds, commonScores, k);
+        }
+    }
+
+    private static final class TopHits {
+        final int capacity;
+        long[] ids;
+        double[] scores;
+        int size;
+
+        TopHits(int capacity) {
+            this.capacity = capacity;
+            this.ids = new long[Math.min(capacity, 16)];
+            this.scores = new double[ids.length];
+        }
+
+        void offer(long itemId, double score) {
+            if (size < capacity) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, (int) Math.min(capacity, size * 2L));
+                    scores = Arrays.copyOf(scores, ids.length);
+                }
+                ids[size] = itemId;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(ids[0], scores[0], itemId, score)) {
+                ids[0] = itemId;
+                scores[0] = score;
+                siftDown(0, size);
+            }
+        }
+
+        TopHits sorted() {
+            for (int last = size - 1; last > 0; last--) {
+                swap(0, last);
+                siftDown(0, last);
+            }
+            return this;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(ids[index], scores[index], ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index, int limit) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < limit && worse(ids[left], scores[left], ids[worst], scores[worst])) {
+                    worst = left;
+                }
+                if (right < limit && worse(ids[right], scores[right], ids[worst], scores[worst])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+
+        private static boolean worse(long itemId, double score, long otherId, double otherScore) {
+            return score < otherScore || score == otherScore && itemId > otherId;
+        }
+    }
+}
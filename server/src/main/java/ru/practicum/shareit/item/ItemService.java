@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.user.UserDeletionEvent;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -9,13 +13,27 @@ public interface ItemService {
 
     ItemDto updateItem(Long userId, Long id, ItemDto itemDto);
 
+    List<ItemBatchResultDto> createItems(Long userId, List<ItemDto> itemDtos);
+
+    List<ItemBatchResultDto> updateItems(Long userId, List<ItemDto> itemDtos);
+
     void deleteItem(Long id);
 
+    void onUserDeletion(UserDeletionEvent event);
+
     List<ItemExtendedDto> getByOwnerId(Long userId, Pageable pageable);
 
+    CursorPageDto<ItemExtendedDto> getByOwnerId(Long userId, String cursor, Integer size);
+
     ItemExtendedDto getByIdItem(Long userId, Long id);
 
-    List<ItemDto> searchItem(String text, Pageable pageable);
+    List<ItemDto> searchItem(String text, LocalDate start, LocalDate end, Pageable pageable);
+
+    CursorPageDto<ItemDto> searchItem(String text, LocalDate start, LocalDate end, String cursor, Integer size);
+
+    List<FreeSlotDto> getAvailability(Long id, LocalDateTime from, LocalDateTime to);
+
+    List<String> suggestItem(String prefix, Integer size);
 
     CommentDto addCommentItem(Long userId, Long id, CommentRequestDto commentRequestDto);
 
@@ -2,20 +2,47 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.BookedDaysIndex;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.dto.ItemBookingsDto;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletionEvent;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.Status.APPROVED;
@@ -25,76 +52,283 @@ import static ru.practicum.shareit.booking.Status.APPROVED;
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int SCAN_CHUNK_SIZE = 500;
+    private static final LongPredicate ANY_ITEM = itemId -> true;
+
     private final UserService userService;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archiveRepository;
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
+    private final Optional<ItemSearchIndex> itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final BookingIntervalIndex intervalIndex;
+    private final BookedDaysIndex bookedDays;
+    private final ItemCache itemCache;
+    private final ItemScanCheckpoints scanCheckpoints;
+    private final ItemBookingSummaryService summaryService;
+    @Value("${shareit.item.search.full-text:false}")
+    private boolean fullTextSearch;
+    @Value("${shareit.booking.archive.enabled:false}")
+    private boolean archiveEnabled;
 
     @Override
     @Transactional
     public ItemDto createItem(Long userId, ItemDto itemDto) {
         log.info("Пользователь с ID {} создал вещь {}.", userId, itemDto);
-        Item item = itemMapper.toItem(itemDto, userService.getUserById(userId));
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item item = itemRepository.save(itemMapper.toItem(itemDto, userService.getUserById(userId)));
+        summaryService.createSummaries(List.of(item.getId()));
+        itemSearchIndex.ifPresent(index -> index.index(item));
+        itemSuggestIndex.index(item);
+        itemSearchCache.invalidate(Collections.singletonList(searchableText(item)));
+        scanCheckpoints.invalidate();
+        return itemMapper.toItemDto(item);
     }
 
     @Override
     @Transactional
+    @Retryable(value = ObjectOptimisticLockingFailureException.class, maxAttempts = 4,
+            backoff = @Backoff(delay = 50, multiplier = 2, random = true))
     public ItemDto updateItem(Long userId, Long id, ItemDto itemDto) {
         log.info("Пользователь с ID {} обновил вещь {} с ID {}.", userId, itemDto, id);
         Item repoItem = getItemById(id);
         if (!Objects.equals(userId, repoItem.getOwner().getId())) {
             throw new ForbiddenException("Изменять вещь может только владелец.");
         }
-        if (itemDto.getName() != null && !itemDto.getName().isBlank()) {
-            repoItem.setName(itemDto.getName());
+        String previousText = searchableText(repoItem);
+        applyUpdate(repoItem, itemDto);
+        Item item = itemRepository.save(repoItem);
+        itemSearchIndex.ifPresent(index -> index.index(item));
+        itemSuggestIndex.index(item);
+        itemSearchCache.invalidate(Arrays.asList(previousText, searchableText(item)));
+        scanCheckpoints.invalidate();
+        itemCache.evict(id);
+        return itemMapper.toItemDto(item);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemBatchResultDto> createItems(Long userId, List<ItemDto> itemDtos) {
+        log.info("Пользователь с ID {} создал {} вещей.", userId, itemDtos.size());
+        User owner = userService.getUserById(userId);
+        Map<Integer, String> errors = new HashMap<>();
+        Map<Integer, Item> items = new LinkedHashMap<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            String error = validateNewItem(itemDto);
+            if (error != null) {
+                errors.put(i, error);
+                continue;
+            }
+            Item item = itemMapper.toItem(itemDto, owner);
+            item.setId(null);
+            items.put(i, item);
         }
-        if (itemDto.getDescription() != null && !itemDto.getDescription().isBlank()) {
-            repoItem.setDescription(itemDto.getDescription());
+        itemRepository.saveAll(items.values());
+        if (!items.isEmpty()) {
+            summaryService.createSummaries(items.values().stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toList()));
         }
-        if (itemDto.getAvailable() != null) {
-            repoItem.setAvailable(itemDto.getAvailable());
+        items.values().forEach(item -> {
+            itemSearchIndex.ifPresent(index -> index.index(item));
+            itemSuggestIndex.index(item);
+        });
+        itemSearchCache.invalidate(items.values().stream()
+                .map(this::searchableText)
+                .collect(Collectors.toList()));
+        scanCheckpoints.invalidate();
+        return toBatchResults(itemDtos.size(), items, errors);
+    }
+
+    @Override
+    @Transactional
+    @Retryable(value = ObjectOptimisticLockingFailureException.class, maxAttempts = 4,
+            backoff = @Backoff(delay = 50, multiplier = 2, random = true))
+    public List<ItemBatchResultDto> updateItems(Long userId, List<ItemDto> itemDtos) {
+        log.info("Пользователь с ID {} обновил {} вещей.", userId, itemDtos.size());
+        Map<Long, Item> repoItems = itemRepository.findAllById(itemDtos.stream()
+                        .filter(Objects::nonNull)
+                        .map(ItemDto::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Integer, String> errors = new HashMap<>();
+        Map<Integer, Item> items = new LinkedHashMap<>();
+        List<String> changedTexts = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            Item repoItem = itemDto == null || itemDto.getId() == null ? null : repoItems.get(itemDto.getId());
+            if (itemDto == null || itemDto.getId() == null) {
+                errors.put(i, "Не указан id вещи.");
+            } else if (repoItem == null) {
+                errors.put(i, "Вещи с таким id не существует.");
+            } else if (!Objects.equals(userId, repoItem.getOwner().getId())) {
+                errors.put(i, "Изменять вещь может только владелец.");
+            } else {
+                changedTexts.add(searchableText(repoItem));
+                applyUpdate(repoItem, itemDto);
+                items.put(i, repoItem);
+            }
         }
-        return itemMapper.toItemDto(itemRepository.save(repoItem));
+        Set<Item> updatedItems = new LinkedHashSet<>(items.values());
+        itemRepository.saveAll(updatedItems);
+        updatedItems.forEach(item -> {
+            itemSearchIndex.ifPresent(index -> index.index(item));
+            itemSuggestIndex.index(item);
+            itemCache.evict(item.getId());
+            changedTexts.add(searchableText(item));
+        });
+        itemSearchCache.invalidate(changedTexts);
+        scanCheckpoints.invalidate();
+        return toBatchResults(itemDtos.size(), items, errors);
     }
 
     @Override
     @Transactional
     public void deleteItem(Long id) {
         log.info("Удалена вещь с ID {}.", id);
+        String text = itemRepository.findById(id)
+                .map(this::searchableText)
+                .orElse(null);
         itemRepository.deleteById(id);
+        itemSearchIndex.ifPresent(index -> index.remove(id));
+        itemSuggestIndex.remove(id);
+        itemSearchCache.invalidate(Collections.singletonList(text));
+        scanCheckpoints.invalidate();
+        itemCache.evict(id);
+    }
+
+    @Override
+    @Transactional
+    @EventListener
+    public void onUserDeletion(UserDeletionEvent event) {
+        Long userId = event.getUserId();
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(userId);
+        List<Long> commentedItemIds = commentRepository.findItemIdsByAuthorId(userId);
+        itemIds.forEach(itemId -> {
+            itemSearchIndex.ifPresent(index -> index.remove(itemId));
+            itemSuggestIndex.remove(itemId);
+            itemCache.evict(itemId);
+        });
+        commentedItemIds.forEach(itemCache::evict);
+        if (!itemIds.isEmpty()) {
+            itemSearchCache.invalidate();
+            scanCheckpoints.invalidate();
+        }
     }
 
     @Override
     public List<ItemExtendedDto> getByOwnerId(Long userId, Pageable pageable) {
         log.info("Выведены все вещи пользователя с ID {}.", userId);
-        return itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable).stream()
-                .map((item) -> itemMapper.toItemExtendedDto(item, getLastBooking(item), getNextBooking(item)))
+        return toItemExtendedDtos(itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable).toList());
+    }
+
+    @Override
+    public CursorPageDto<ItemExtendedDto> getByOwnerId(Long userId, String cursor, Integer size) {
+        log.info("Выведены вещи пользователя с ID {} после курсора \"{}\".", userId, cursor);
+        Slice<Item> items = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                userId, ItemCursor.decode(cursor).getId(), PageRequest.of(0, size));
+        return CursorPageDto.<ItemExtendedDto>builder()
+                .items(toItemExtendedDtos(items.getContent()))
+                .nextCursor(items.hasNext() ? nextCursor(items.getContent()) : null)
+                .build();
+    }
+
+    private List<ItemExtendedDto> toItemExtendedDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, ItemBookingsDto> itemBookings = summaryService.getItemBookings(itemIds);
+        Map<Long, List<CommentDto>> comments = getComments(itemIds);
+        return items.stream()
+                .map((item) -> itemMapper.toItemExtendedDto(item,
+                        itemBookings.get(item.getId()).getLastBooking(),
+                        itemBookings.get(item.getId()).getNextBooking(),
+                        comments.getOrDefault(item.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
     @Override
     public ItemExtendedDto getByIdItem(Long userId, Long id) {
         log.info("Выведена вещь с ID {}.", id);
+        Optional<ItemExtendedDto> cached = itemCache.get(id);
+        if (cached.isPresent() && !Objects.equals(userId, cached.get().getOwnerId())) {
+            return cached.get();
+        }
+        long generation = itemCache.generation(id);
         Item item = getItemById(id);
+        List<Long> itemIds = List.of(item.getId());
+        List<CommentDto> comments = getComments(itemIds).getOrDefault(item.getId(), new ArrayList<>());
         if (!Objects.equals(userId, item.getOwner().getId())) {
-            return itemMapper.toItemExtendedDto(item, null, null);
+            ItemExtendedDto itemExtendedDto = itemMapper.toItemExtendedDto(item, null, null, comments);
+            itemCache.put(itemExtendedDto, generation);
+            return itemExtendedDto;
         } else {
-            return itemMapper.toItemExtendedDto(item, getLastBooking(item), getNextBooking(item));
+            ItemBookingsDto itemBookings = summaryService.getItemBookings(itemIds).get(item.getId());
+            return itemMapper.toItemExtendedDto(item,
+                    itemBookings.getLastBooking(), itemBookings.getNextBooking(), comments);
         }
     }
 
     @Override
-    public List<ItemDto> searchItem(String text, Pageable pageable) {
-        log.info("Поиск вещей с подстрокой \"{}\".", text);
+    public List<ItemDto> searchItem(String text, LocalDate start, LocalDate end, Pageable pageable) {
+        log.info("Поиск вещей с подстрокой \"{}\", свободных с {} по {}.", text, start, end);
         if (text.isBlank() || text.isEmpty()) {
             return new ArrayList<>();
         }
-        return itemRepository.search(text, pageable)
-                .stream()
-                .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+        if (start == null || end == null) {
+            return itemSearchCache.getPage(text, pageable.getOffset(), pageable.getPageSize(),
+                    () -> findItems(text, pageable));
+        }
+        String stamp = scanCheckpoints.stamp();
+        return findAvailableItems(text, start, end, pageable, stamp, bookedDays.freeBetween(start, end));
+    }
+
+    @Override
+    public CursorPageDto<ItemDto> searchItem(String text, LocalDate start, LocalDate end, String cursor,
+                                             Integer size) {
+        log.info("Поиск вещей с подстрокой \"{}\", свободных с {} по {}, после курсора \"{}\".",
+                text, start, end, cursor);
+        ItemCursor after = ItemCursor.decode(cursor);
+        if (text.isBlank()) {
+            return CursorPageDto.<ItemDto>builder()
+                    .items(new ArrayList<>())
+                    .build();
+        }
+        if (start == null || end == null) {
+            return itemSearchCache.getCursorPage(text, cursor, size, () -> findItems(text, after, size));
+        }
+        return findAvailableItems(text, after, size, bookedDays.freeBetween(start, end));
+    }
+
+    @Override
+    public List<FreeSlotDto> getAvailability(Long id, LocalDateTime from, LocalDateTime to) {
+        log.info("Вывод свободных интервалов вещи с ID {} с {} по {}.", id, from, to);
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало интервала должно быть раньше конца.");
+        }
+        Item item = getItemById(id);
+        LocalDateTime dateTime = LocalDateTime.now();
+        LocalDateTime start = from.isAfter(dateTime) ? from : dateTime;
+        if (!item.getAvailable() || !start.isBefore(to)) {
+            return new ArrayList<>();
+        }
+        return intervalIndex.findFreeSlots(id, start, to);
+    }
+
+    @Override
+    public List<String> suggestItem(String prefix, Integer size) {
+        log.info("Подсказки для вещей с префиксом \"{}\".", prefix);
+        if (prefix.isBlank()) {
+            return new ArrayList<>();
+        }
+        return itemSuggestIndex.suggest(prefix, size);
     }
 
     @Override
@@ -103,10 +337,13 @@ public class ItemServiceImpl implements ItemService {
         log.info("Добавление комментария пользователем с ID {} к вещи с ID {}.", userId, id);
         Comment comment = itemMapper.commentRequestDtoToComment(commentRequestDto,
                 LocalDateTime.now(), userService.getUserById(userId), id);
-        if (bookingRepository.findByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(
-                id, userId, LocalDateTime.now(), APPROVED).isEmpty()) {
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingRepository.findByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(id, userId, now, APPROVED).isEmpty()
+                && !(archiveEnabled && archiveRepository
+                .existsByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(id, userId, now, APPROVED))) {
             throw new BookingException("Пользователь не брал данную вещь в аренду.");
         }
+        itemCache.evict(id);
         return itemMapper.commentToCommentDto(commentRepository.save(comment));
     }
 
@@ -116,21 +353,171 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException("Вещи с таким id не существует."));
     }
 
-    private BookingItemDto getLastBooking(Item item) {
-        return bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(
-                        item.getId(), LocalDateTime.now(), APPROVED)
-                .stream()
-                .findFirst()
-                .map(itemMapper::bookingToBookingItemDto)
-                .orElse(null);
+    private List<ItemDto> findItems(String text, Pageable pageable) {
+        if (itemSearchIndex.isPresent()) {
+            return findAllByIdOrdered(itemSearchIndex.get().search(text, pageable, ANY_ITEM));
+        }
+        Page<Item> items = fullTextSearch
+                ? itemRepository.searchFullText(text, pageable)
+                : itemRepository.search(text, pageable);
+        return items.stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
     }
 
-    private BookingItemDto getNextBooking(Item item) {
-        return bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(
-                        item.getId(), LocalDateTime.now(), APPROVED)
-                .stream()
-                .findFirst()
-                .map(itemMapper::bookingToBookingItemDto)
-                .orElse(null);
+    private List<ItemDto> findAvailableItems(String text, LocalDate start, LocalDate end, Pageable pageable,
+                                             String stamp, LongPredicate available) {
+        if (itemSearchIndex.isPresent()) {
+            return findAllByIdOrdered(itemSearchIndex.get().search(text, pageable, available));
+        }
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        Optional<Long> checkpoint = scanCheckpoints.get(stamp, text, start, end, offset);
+        List<Item> items = checkpoint.isPresent()
+                ? scanItems(text, checkpoint.get(), 0, size, available)
+                : scanItems(text, 0L, offset, size, available);
+        if (items.size() == size) {
+            scanCheckpoints.put(stamp, text, start, end, offset + size, items.get(size - 1).getId());
+        }
+        return items.stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    private CursorPageDto<ItemDto> findItems(String text, ItemCursor after, Integer size) {
+        if (itemSearchIndex.isPresent()) {
+            return findIndexedItems(text, after, size, ANY_ITEM);
+        }
+        Slice<Item> items = fullTextSearch
+                ? itemRepository.searchFullTextAfter(text, after.getId(), PageRequest.of(0, size))
+                : itemRepository.searchAfter(text, after.getId(), PageRequest.of(0, size));
+        return CursorPageDto.<ItemDto>builder()
+                .items(items.stream()
+                        .map(itemMapper::toItemDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(items.hasNext() ? nextCursor(items.getContent()) : null)
+                .build();
+    }
+
+    private CursorPageDto<ItemDto> findAvailableItems(String text, ItemCursor after, Integer size,
+                                                      LongPredicate available) {
+        if (itemSearchIndex.isPresent()) {
+            return findIndexedItems(text, after, size, available);
+        }
+        List<Item> hits = scanItems(text, after.getId(), 0, size + 1, available);
+        List<Item> page = hits.subList(0, Math.min(size, hits.size()));
+        return CursorPageDto.<ItemDto>builder()
+                .items(page.stream()
+                        .map(itemMapper::toItemDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(hits.size() > size ? nextCursor(page) : null)
+                .build();
+    }
+
+    private CursorPageDto<ItemDto> findIndexedItems(String text, ItemCursor after, Integer size,
+                                                    LongPredicate available) {
+        List<ItemCursor> hits = itemSearchIndex.get().search(text, after, size + 1, available);
+        List<ItemCursor> page = hits.subList(0, Math.min(size, hits.size()));
+        return CursorPageDto.<ItemDto>builder()
+                .items(findAllByIdOrdered(page.stream()
+                        .map(ItemCursor::getId)
+                        .collect(Collectors.toList())))
+                .nextCursor(hits.size() > size ? page.get(page.size() - 1).encode() : null)
+                .build();
+    }
+
+    private List<Item> scanItems(String text, Long afterId, long skip, int limit, LongPredicate available) {
+        List<Item> items = new ArrayList<>();
+        long skipped = 0;
+        Slice<Item> chunk;
+        do {
+            chunk = fullTextSearch
+                    ? itemRepository.searchFullTextAfter(text, afterId, PageRequest.of(0, SCAN_CHUNK_SIZE))
+                    : itemRepository.searchAfter(text, afterId, PageRequest.of(0, SCAN_CHUNK_SIZE));
+            for (Item item : chunk) {
+                if (items.size() == limit) {
+                    break;
+                }
+                if (!available.test(item.getId())) {
+                    continue;
+                }
+                if (skipped < skip) {
+                    skipped++;
+                } else {
+                    items.add(item);
+                }
+            }
+            if (chunk.hasContent()) {
+                afterId = chunk.getContent().get(chunk.getNumberOfElements() - 1).getId();
+            }
+        } while (chunk.hasNext() && items.size() < limit);
+        return items;
+    }
+
+    private List<ItemDto> findAllByIdOrdered(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    private String nextCursor(List<Item> items) {
+        return ItemCursor.of(items.get(items.size() - 1).getId()).encode();
+    }
+
+    private Map<Long, List<CommentDto>> getComments(List<Long> itemIds) {
+        return commentRepository.findByItemIdInOrderByCreatedAsc(itemIds).stream()
+                .collect(Collectors.groupingBy(Comment::getItemId,
+                        Collectors.mapping(itemMapper::commentToCommentDto, Collectors.toList())));
+    }
+
+    private String searchableText(Item item) {
+        return Boolean.TRUE.equals(item.getAvailable()) ? item.getName() + " " + item.getDescription() : null;
+    }
+
+    private void applyUpdate(Item repoItem, ItemDto itemDto) {
+        if (itemDto.getName() != null && !itemDto.getName().isBlank()) {
+            repoItem.setName(itemDto.getName());
+        }
+        if (itemDto.getDescription() != null && !itemDto.getDescription().isBlank()) {
+            repoItem.setDescription(itemDto.getDescription());
+        }
+        if (itemDto.getAvailable() != null) {
+            repoItem.setAvailable(itemDto.getAvailable());
+        }
+    }
+
+    private String validateNewItem(ItemDto itemDto) {
+        if (itemDto == null) {
+            return "Не передана вещь.";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Не указано название вещи.";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Не указано описание вещи.";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Не указана доступность вещи.";
+        }
+        return null;
+    }
+
+    private List<ItemBatchResultDto> toBatchResults(int size, Map<Integer, Item> items, Map<Integer, String> errors) {
+        List<ItemBatchResultDto> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(ItemBatchResultDto.builder()
+                    .index(i)
+                    .item(items.containsKey(i) ? itemMapper.toItemDto(items.get(i)) : null)
+                    .error(errors.get(i))
+                    .build());
+        }
+        return results;
     }
-}
\ No newline at end of file
+}
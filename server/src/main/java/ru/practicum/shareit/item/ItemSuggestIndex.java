@@ -0,0 +1,245 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+    public static final int TOP_SIZE = 10;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Trie trie = new Trie();
+    private List<Consumer<Trie>> writesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Trie fresh = new Trie();
+        boolean loaded = false;
+        try {
+            long afterId = 0;
+            List<Item> page;
+            do {
+                page = itemRepository.findAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                page.stream()
+                        .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                        .forEach(item -> fresh.insert(item.getId(), item.getName()));
+                afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            fresh.root.refreshAll();
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    writesDuringRebuild.forEach(write -> write.accept(fresh));
+                    trie = fresh;
+                }
+                writesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Индекс подсказок построен, проиндексировано {} вещей.", fresh.names.size());
+    }
+
+    public void index(Item item) {
+        Long id = item.getId();
+        String name = item.getName();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        afterCommit(() -> write(target -> {
+            target.delete(id);
+            if (available) {
+                refresh(target.insert(id, name));
+            }
+        }));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> write(target -> target.delete(id)));
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = trie.root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            return Arrays.stream(node.top)
+                    .limit(size)
+                    .map(top -> top.name)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Trie> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(trie);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void refresh(Node[] path) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i].refreshTop();
+        }
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(text.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private static final class Trie {
+        final Node root = new Node();
+        final Map<Long, String> names = new HashMap<>();
+
+        Node[] insert(Long id, String name) {
+            String key = normalize(name);
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].childOrCreate(key.charAt(i));
+            }
+            Node terminal = path[key.length()];
+            if (terminal.count == 0) {
+                terminal.name = name.strip();
+            }
+            terminal.count++;
+            names.put(id, name);
+            return path;
+        }
+
+        void delete(Long id) {
+            String name = names.remove(id);
+            if (name == null) {
+                return;
+            }
+            String key = normalize(name);
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+            Node terminal = path[key.length()];
+            terminal.count--;
+            if (terminal.count == 0) {
+                terminal.name = null;
+            }
+            for (int i = key.length(); i > 0 && path[i].count == 0 && path[i].size == 0; i--) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+            refresh(path);
+        }
+    }
+
+    private static final class Node {
+        static final char[] NO_KEYS = new char[0];
+        static final Node[] NO_NODES = new Node[0];
+        static final Comparator<Node> BY_POPULARITY = Comparator.<Node>comparingInt(node -> -node.count)
+                .thenComparing(node -> node.name);
+
+        char[] keys = NO_KEYS;
+        Node[] children = NO_NODES;
+        int size;
+        String name;
+        int count;
+        Node[] top = NO_NODES;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(2, size * 2));
+                children = Arrays.copyOf(children, Math.max(2, size * 2));
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(children, index, children, index + 1, size - index);
+            Node child = new Node();
+            keys[index] = key;
+            children[index] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return;
+            }
+            size--;
+            System.arraycopy(keys, index + 1, keys, index, size - index);
+            System.arraycopy(children, index + 1, children, index, size - index);
+            children[size] = null;
+        }
+
+        void refreshTop() {
+            List<Node> candidates = new ArrayList<>();
+            if (count > 0) {
+                candidates.add(this);
+            }
+            for (int i = 0; i < size; i++) {
+                candidates.addAll(Arrays.asList(children[i].top));
+            }
+            top = candidates.stream()
+                    .sorted(BY_POPULARITY)
+                    .limit(TOP_SIZE)
+                    .toArray(Node[]::new);
+        }
+
+        void refreshAll() {
+            for (int i = 0; i < size; i++) {
+                children[i].refreshAll();
+            }
+            refreshTop();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserService userService;
+    private final UserExistenceChecker existenceChecker;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
@@ -38,7 +40,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemRequestExtendedDto getByIdRequest(Long userId, Long id) {
         log.info("Вывод запроса вещи с id {} пользователем с id {}.", id, userId);
-        userService.getUserById(userId);
+        existenceChecker.requireExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Запроса вещи с таким id не существует."));
         List<ItemDto> items = itemRequest.getItems().stream()
@@ -50,7 +52,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestExtendedDto> getByRequesterId(Long userId) {
         log.info("Вывод всех запросов вещей пользователем с id {}.", userId);
-        userService.getUserById(userId);
+        existenceChecker.requireExists(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findByRequesterId_IdOrderByCreatedAsc(userId);
         return itemRequests.stream()
                 .map((itemRequest) -> itemRequestMapper.toItemRequestExtendedDto(
@@ -66,7 +68,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestExtendedDto> getAllRequest(Long userId, Pageable pageable) {
         log.info("Вывод всех запросов вещей постранично {}.", pageable);
-        userService.getUserById(userId);
+        existenceChecker.requireExists(userId);
         return itemRequestRepository.findByRequesterId_IdNot(userId, pageable).stream()
                 .map((itemRequest) -> itemRequestMapper.toItemRequestExtendedDto(
                         itemRequest,
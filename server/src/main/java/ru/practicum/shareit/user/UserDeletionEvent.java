@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class UserDeletionEvent {
+    private final Long userId;
+}
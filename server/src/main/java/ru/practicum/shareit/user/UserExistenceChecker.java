@@ -0,0 +1,161 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static ru.practicum.shareit.util.SyncSupport.afterCommit;
+
+@Component
+@Slf4j
+public class UserExistenceChecker {
+    private static final String REQUEST_ATTRIBUTE = UserExistenceChecker.class.getName() + ".checked";
+    private static final int REBUILD_PAGE_SIZE = 10000;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> knownIds;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long recentIds;
+    private volatile boolean filterReady;
+    private volatile long loadedUpTo;
+
+    public UserExistenceChecker(UserRepository userRepository,
+                                @Value("${shareit.user.existence.expected-users}") long expectedUsers,
+                                @Value("${shareit.user.existence.false-positive-rate}") double falsePositiveRate,
+                                @Value("${shareit.user.existence.recent-ids}") long recentIds,
+                                @Value("${shareit.user.existence.cache.spec}") String spec) {
+        this.userRepository = userRepository;
+        this.recentIds = recentIds;
+        this.knownIds = Caffeine.from(spec).build();
+        long words = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)) / Long.SIZE);
+        this.bits = new AtomicLongArray(Math.toIntExact(Math.max(words, 1)));
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsers * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int loaded = load(0);
+        filterReady = true;
+        log.info("Фильтр пользователей построен, загружено {} id, бит: {}, хешей: {}.", loaded, bitCount, hashCount);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.user.existence.extend-delay}")
+    public void extend() {
+        if (filterReady) {
+            load(Math.max(0, loadedUpTo - recentIds));
+        }
+    }
+
+    public void requireExists(Long id) {
+        Set<Long> checked = checkedInRequest();
+        if (checked != null && checked.contains(id)) {
+            return;
+        }
+        if (filterReady && id <= loadedUpTo - recentIds && !mightContain(id)) {
+            throw new NotFoundException("Пользователя с таким id не существует.");
+        }
+        if (knownIds.getIfPresent(id) == null) {
+            if (!userRepository.existsById(id)) {
+                throw new NotFoundException("Пользователя с таким id не существует.");
+            }
+            put(id);
+            knownIds.put(id, Boolean.TRUE);
+        }
+        if (checked != null) {
+            checked.add(id);
+        }
+    }
+
+    public void added(Long id) {
+        put(id);
+        afterCommit(() -> knownIds.put(id, Boolean.TRUE));
+    }
+
+    public void removed(Long id) {
+        afterCommit(() -> knownIds.invalidate(id));
+    }
+
+    private int load(long fromId) {
+        long afterId = fromId;
+        int loaded = 0;
+        List<Long> ids;
+        do {
+            ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            ids.forEach(this::put);
+            loaded += ids.size();
+            afterId = ids.isEmpty() ? afterId : ids.get(ids.size() - 1);
+        } while (ids.size() == REBUILD_PAGE_SIZE);
+        loadedUpTo = Math.max(loadedUpTo, afterId);
+        return loaded;
+    }
+
+    private void put(Long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private boolean mightContain(Long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash, i);
+            if ((bits.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(long hash, int i) {
+        return Math.floorMod(hash + i * (hash >>> 32 | 1), bitCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Long> checkedInRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Set<Long> checked = (Set<Long>) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (checked == null) {
+            checked = new HashSet<>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, checked, RequestAttributes.SCOPE_REQUEST);
+        }
+        return checked;
+    }
+
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -17,12 +18,16 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceChecker existenceChecker;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public UserDto createUser(UserDto userDto) {
         log.info("Добавление пользователя {}", userDto);
-        return userMapper.toUserDto(userRepository.save(userMapper.toUser(userDto)));
+        User user = userRepository.save(userMapper.toUser(userDto));
+        existenceChecker.added(user.getId());
+        return userMapper.toUserDto(user);
     }
 
     @Override
@@ -44,7 +49,9 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUser(Long id) {
         log.info("Удаление пользователя с id {}", id);
+        eventPublisher.publishEvent(new UserDeletionEvent(id));
         userRepository.deleteById(id);
+        existenceChecker.removed(id);
     }
 
     @Override
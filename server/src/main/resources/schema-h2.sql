@@ -0,0 +1 @@
+ALTER TABLE COMMENTS ADD COLUMN IF NOT EXISTS TEXT TEXT;
@@ -0,0 +1,227 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE ITEMS ADD COLUMN IF NOT EXISTS SEARCH_VECTOR tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', NAME || ' ' || DESCRIPTION)) STORED;
+
+CREATE INDEX IF NOT EXISTS ITEMS_SEARCH_VECTOR_IDX ON ITEMS USING GIN (SEARCH_VECTOR);
+
+CREATE INDEX IF NOT EXISTS ITEMS_NAME_TRGM_IDX ON ITEMS USING GIN (NAME gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ITEMS_DESCRIPTION_TRGM_IDX ON ITEMS USING GIN (DESCRIPTION gin_trgm_ops);
+
+ALTER TABLE USERS ALTER COLUMN ID DROP IDENTITY IF EXISTS;
+
+SELECT setval('USERS_SEQ', MAX(ID)) FROM USERS HAVING MAX(ID) > (SELECT last_value FROM USERS_SEQ);
+
+ALTER TABLE REQUESTS ALTER COLUMN ID DROP IDENTITY IF EXISTS;
+
+SELECT setval('REQUESTS_SEQ', MAX(ID)) FROM REQUESTS HAVING MAX(ID) > (SELECT last_value FROM REQUESTS_SEQ);
+
+ALTER TABLE ITEMS ALTER COLUMN ID DROP IDENTITY IF EXISTS;
+
+SELECT setval('ITEMS_SEQ', MAX(ID)) FROM ITEMS HAVING MAX(ID) > (SELECT last_value FROM ITEMS_SEQ);
+
+ALTER TABLE BOOKINGS ALTER COLUMN ID DROP IDENTITY IF EXISTS;
+
+SELECT setval('BOOKINGS_SEQ', MAX(ID)) FROM BOOKINGS HAVING MAX(ID) > (SELECT last_value FROM BOOKINGS_SEQ);
+
+ALTER TABLE COMMENTS ALTER COLUMN ID DROP IDENTITY IF EXISTS;
+
+SELECT setval('COMMENTS_SEQ', MAX(ID)) FROM COMMENTS HAVING MAX(ID) > (SELECT last_value FROM COMMENTS_SEQ);
+
+ALTER TABLE ITEMS ADD COLUMN IF NOT EXISTS VERSION BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE BOOKINGS ADD COLUMN IF NOT EXISTS VERSION BIGINT NOT NULL DEFAULT 0;
+
+DO 'BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = ''bookings'' AND column_name = ''status'' AND data_type <> ''smallint'') THEN
+        ALTER TABLE BOOKINGS DROP CONSTRAINT IF EXISTS BOOKINGS_APPROVED_NO_OVERLAP;
+        DROP INDEX IF EXISTS BOOKINGS_WAITING_BOOKER_START_IDX;
+        DROP INDEX IF EXISTS BOOKINGS_WAITING_ITEM_START_IDX;
+        DROP INDEX IF EXISTS BOOKINGS_ACTIVE_ITEM_END_IDX;
+        ALTER TABLE BOOKINGS ALTER COLUMN STATUS TYPE SMALLINT USING CASE STATUS
+            WHEN ''WAITING'' THEN 0
+            WHEN ''APPROVED'' THEN 1
+            WHEN ''REJECTED'' THEN 2
+            WHEN ''CANCELED'' THEN 3
+        END;
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_WAITING_BOOKER_START_IDX ON BOOKINGS (BOOKER_ID, START_DATE)
+    WHERE STATUS = 0;
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_WAITING_ITEM_START_IDX ON BOOKINGS (ITEM_ID, START_DATE)
+    WHERE STATUS = 0;
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ACTIVE_ITEM_END_IDX ON BOOKINGS (ITEM_ID, END_DATE)
+    WHERE STATUS IN (0, 1);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_WAITING_START_IDX ON BOOKINGS (START_DATE)
+    WHERE STATUS = 0;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO 'BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_approved_no_overlap'')
+            AND EXISTS (SELECT 1 FROM pg_class WHERE relname = ''bookings'' AND relkind = ''r'') THEN
+        ALTER TABLE BOOKINGS ADD CONSTRAINT BOOKINGS_APPROVED_NO_OVERLAP
+            EXCLUDE USING gist (ITEM_ID WITH =, tsrange(START_DATE, END_DATE) WITH &&)
+            WHERE (STATUS = 1);
+    END IF;
+EXCEPTION WHEN exclusion_violation THEN
+    RAISE WARNING ''BOOKINGS already contains overlapping APPROVED bookings, constraint not created'';
+END';
+
+CREATE OR REPLACE FUNCTION BOOKINGS_CREATE_PARTITIONS(from_start TIMESTAMP, to_start TIMESTAMP,
+                                                      constrained BOOLEAN DEFAULT TRUE) RETURNS INTEGER AS '
+DECLARE
+    month_start TIMESTAMP := date_trunc(''month'',
+        LEAST(from_start, COALESCE((SELECT MIN(START_DATE) FROM BOOKINGS_DEFAULT), from_start)));
+    month_end TIMESTAMP;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start < to_start LOOP
+        month_end := month_start + INTERVAL ''1 month'';
+        partition_name := ''bookings_p'' || to_char(month_start, ''YYYYMM'');
+        IF to_regclass(partition_name) IS NULL
+                AND to_regclass(''bookings_archive_p'' || to_char(month_start, ''YYYYMM'')) IS NULL THEN
+            EXECUTE format(''CREATE TABLE %I (LIKE BOOKINGS INCLUDING DEFAULTS)'', partition_name);
+            LOCK TABLE BOOKINGS_DEFAULT IN EXCLUSIVE MODE;
+            EXECUTE format(''WITH moved AS (DELETE FROM BOOKINGS_DEFAULT WHERE START_DATE >= %L AND START_DATE < %L ''
+                ''RETURNING *) INSERT INTO %I SELECT * FROM moved'', month_start, month_end, partition_name);
+            EXECUTE format(''ALTER TABLE BOOKINGS ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)'',
+                partition_name, month_start, month_end);
+            IF constrained AND to_regclass(''bookings_legacy'') IS NULL THEN
+                EXECUTE format(''ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist ''
+                    ''(ITEM_ID WITH =, tsrange(START_DATE, END_DATE) WITH &&) WHERE (STATUS = 1)'',
+                    partition_name, partition_name || ''_no_overlap'');
+            END IF;
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END' LANGUAGE plpgsql;
+
+DROP FUNCTION IF EXISTS BOOKINGS_ARCHIVE_PARTITIONS(TIMESTAMP);
+
+-- DETACH PARTITION takes ACCESS EXCLUSIVE on BOOKINGS (CONCURRENTLY is not allowed with a DEFAULT partition
+-- or inside a function), so each move waits at most lock_wait and is retried on the next scheduled run.
+CREATE OR REPLACE FUNCTION BOOKINGS_ARCHIVE_PARTITIONS(horizon TIMESTAMP, lock_wait TEXT) RETURNS INTEGER AS '
+DECLARE
+    partition_name TEXT;
+    archive_name TEXT;
+    month_start TIMESTAMP;
+    live BOOLEAN;
+    archived INTEGER := 0;
+BEGIN
+    PERFORM set_config(''lock_timeout'', lock_wait, TRUE);
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = ''bookings''::regclass AND c.relname ~ ''^bookings_p[0-9]{6}$''
+        ORDER BY c.relname
+    LOOP
+        month_start := to_date(substr(partition_name, 11), ''YYYYMM'')::TIMESTAMP;
+        EXIT WHEN month_start + INTERVAL ''1 month'' > horizon;
+        EXECUTE format(''SELECT EXISTS (SELECT 1 FROM %I WHERE END_DATE >= %L)'', partition_name, horizon) INTO live;
+        EXIT WHEN live;
+        archive_name := ''bookings_archive_p'' || substr(partition_name, 11);
+        BEGIN
+            EXECUTE format(''ALTER TABLE BOOKINGS DETACH PARTITION %I'', partition_name);
+            EXECUTE format(''ALTER TABLE %I RENAME TO %I'', partition_name, archive_name);
+            EXECUTE format(''ALTER TABLE BOOKINGS_ARCHIVE ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)'',
+                archive_name, month_start, month_start + INTERVAL ''1 month'');
+        EXCEPTION WHEN lock_not_available THEN
+            RAISE WARNING ''% not archived, lock not acquired within %'', partition_name, lock_wait;
+            EXIT;
+        END;
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END' LANGUAGE plpgsql;
+
+-- Converts BOOKINGS into a table partitioned by month of START_DATE. Consequences of the partitioning:
+-- the primary key becomes (ID, START_DATE), so ID uniqueness rests on BOOKINGS_SEQ; foreign keys pointing at
+-- BOOKINGS (ITEM_BOOKING_SUMMARY last/next booking) are dropped and those ids are kept valid by the summary refresh;
+-- the no-overlap exclusion constraint exists per partition only and does not compare bookings starting in different
+-- months or archived ones, so approvals also lock the item row (ItemRepository.lockByBookingIdIn) to serialise them.
+DO 'DECLARE
+    index_definitions TEXT[];
+    index_definition TEXT;
+    referencing RECORD;
+    partition_name TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = ''bookings'' AND relkind = ''r'') THEN
+        FOR referencing IN SELECT conrelid::regclass AS table_name, conname FROM pg_constraint
+                WHERE contype = ''f'' AND confrelid = ''bookings''::regclass LOOP
+            EXECUTE format(''ALTER TABLE %s DROP CONSTRAINT %I'', referencing.table_name, referencing.conname);
+        END LOOP;
+        SELECT array_agg(i.indexdef) INTO index_definitions FROM pg_indexes i
+        WHERE i.tablename = ''bookings'' AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname);
+        ALTER TABLE BOOKINGS RENAME TO BOOKINGS_LEGACY;
+        FOR index_definition IN SELECT indexname FROM pg_indexes WHERE tablename = ''bookings_legacy'' LOOP
+            EXECUTE format(''ALTER INDEX %I RENAME TO %I'', index_definition, index_definition || ''_legacy'');
+        END LOOP;
+        CREATE TABLE BOOKINGS (LIKE BOOKINGS_LEGACY INCLUDING DEFAULTS) PARTITION BY RANGE (START_DATE);
+        CREATE TABLE BOOKINGS_DEFAULT PARTITION OF BOOKINGS DEFAULT;
+        PERFORM BOOKINGS_CREATE_PARTITIONS(COALESCE((SELECT MIN(START_DATE) FROM BOOKINGS_LEGACY), now()::TIMESTAMP),
+            now()::TIMESTAMP, FALSE);
+        ALTER TABLE BOOKINGS ADD PRIMARY KEY (ID, START_DATE);
+        ALTER TABLE BOOKINGS ADD FOREIGN KEY (ITEM_ID) REFERENCES ITEMS(ID) ON DELETE CASCADE;
+        ALTER TABLE BOOKINGS ADD FOREIGN KEY (BOOKER_ID) REFERENCES USERS(ID) ON DELETE CASCADE;
+        ALTER TABLE BOOKINGS ADD FOREIGN KEY (OWNER_ID) REFERENCES USERS(ID) ON DELETE CASCADE;
+        FOREACH index_definition IN ARRAY COALESCE(index_definitions, ARRAY[]::TEXT[]) LOOP
+            EXECUTE index_definition;
+        END LOOP;
+    END IF;
+END';
+
+-- Rows of BOOKINGS_LEGACY are moved by BOOKINGS_MIGRATE_LEGACY in batches of batch_size, one transaction per call,
+-- so the conversion above stays a metadata-only change. The per-partition no-overlap constraints are added once
+-- the legacy table is empty and dropped.
+CREATE OR REPLACE FUNCTION BOOKINGS_MIGRATE_LEGACY(batch_size INTEGER) RETURNS INTEGER AS '
+DECLARE
+    moved INTEGER;
+    partition_name TEXT;
+BEGIN
+    IF to_regclass(''bookings_legacy'') IS NULL THEN
+        RETURN 0;
+    END IF;
+    WITH batch AS (DELETE FROM BOOKINGS_LEGACY WHERE ID IN (SELECT ID FROM BOOKINGS_LEGACY ORDER BY ID LIMIT batch_size)
+            RETURNING *)
+    INSERT INTO BOOKINGS SELECT * FROM batch;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    IF moved > 0 THEN
+        RETURN moved;
+    END IF;
+    DROP TABLE BOOKINGS_LEGACY;
+    FOR partition_name IN SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = ''bookings''::regclass
+            AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = c.relname || ''_no_overlap'') LOOP
+        BEGIN
+            EXECUTE format(''ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist ''
+                ''(ITEM_ID WITH =, tsrange(START_DATE, END_DATE) WITH &&) WHERE (STATUS = 1)'',
+                partition_name, partition_name || ''_no_overlap'');
+        EXCEPTION WHEN exclusion_violation THEN
+            RAISE WARNING ''% already contains overlapping APPROVED bookings, constraint not created'', partition_name;
+        END;
+    END LOOP;
+    RETURN 0;
+END' LANGUAGE plpgsql;
+
+DO 'BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_class WHERE relname = ''bookings_archive'') THEN
+        CREATE TABLE BOOKINGS_ARCHIVE (LIKE BOOKINGS INCLUDING DEFAULTS) PARTITION BY RANGE (START_DATE);
+        ALTER TABLE BOOKINGS_ARCHIVE ADD PRIMARY KEY (ID, START_DATE);
+        ALTER TABLE BOOKINGS_ARCHIVE ADD FOREIGN KEY (ITEM_ID) REFERENCES ITEMS(ID) ON DELETE CASCADE;
+        ALTER TABLE BOOKINGS_ARCHIVE ADD FOREIGN KEY (BOOKER_ID) REFERENCES USERS(ID) ON DELETE CASCADE;
+        ALTER TABLE BOOKINGS_ARCHIVE ADD FOREIGN KEY (OWNER_ID) REFERENCES USERS(ID) ON DELETE CASCADE;
+        CREATE INDEX BOOKINGS_ARCHIVE_BOOKER_START_IDX ON BOOKINGS_ARCHIVE (BOOKER_ID, START_DATE);
+        CREATE INDEX BOOKINGS_ARCHIVE_OWNER_START_IDX ON BOOKINGS_ARCHIVE (OWNER_ID, START_DATE);
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ARCHIVE_ITEM_STATUS_START_IDX ON BOOKINGS_ARCHIVE (ITEM_ID, STATUS, START_DATE);
@@ -1,43 +1,114 @@
+CREATE SEQUENCE IF NOT EXISTS USERS_SEQ INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS REQUESTS_SEQ INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS ITEMS_SEQ INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS BOOKINGS_SEQ INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS COMMENTS_SEQ INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS BOOKING_EVENTS_SEQ INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS USERS
 (
-    ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    ID BIGINT PRIMARY KEY,
     NAME VARCHAR(255) NOT NULL,
     EMAIL VARCHAR(255) NOT NULL UNIQUE
 );
 
 CREATE TABLE IF NOT EXISTS REQUESTS
 (
-    ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    ID BIGINT PRIMARY KEY,
     DESCRIPTION TEXT,
-    REQUEST_USER_ID BIGINT REFERENCES USERS(ID) ON DELETE CASCADE,
-    CREATED_DATE TIMESTAMP WITHOUT TIME ZONE
+    REQUESTER_ID BIGINT NOT NULL REFERENCES USERS(ID) ON DELETE CASCADE,
+    CREATED TIMESTAMP WITHOUT TIME ZONE NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS ITEMS
 (
-    ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    ID BIGINT PRIMARY KEY,
     NAME varchar(255) NOT NULL,
     DESCRIPTION TEXT NOT NULL,
     AVAILABLE boolean NOT NULL,
     OWNER_ID BIGINT NOT NULL REFERENCES USERS(ID) ON DELETE CASCADE,
-    REQUEST_ID BIGINT REFERENCES REQUESTS(ID) ON DELETE CASCADE
+    REQUEST_ID BIGINT REFERENCES REQUESTS(ID) ON DELETE CASCADE,
+    VERSION BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS BOOKINGS
 (
-    ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    ID BIGINT PRIMARY KEY,
     START_DATE TIMESTAMP WITHOUT TIME ZONE,
     END_DATE TIMESTAMP WITHOUT TIME ZONE,
     ITEM_ID BIGINT NOT NULL REFERENCES ITEMS(ID) ON DELETE CASCADE,
     BOOKER_ID BIGINT NOT NULL REFERENCES USERS(ID) ON DELETE CASCADE,
-    STATUS varchar(64) NOT NULL
+    OWNER_ID BIGINT NOT NULL REFERENCES USERS(ID) ON DELETE CASCADE,
+    STATUS SMALLINT NOT NULL,
+    VERSION BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS COMMENTS
 (
-    ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    ID BIGINT PRIMARY KEY,
     TEXT_CONTENT TEXT,
     ITEM_ID BIGINT NOT NULL REFERENCES ITEMS(ID) ON DELETE CASCADE,
     AUTHOR_ID BIGINT NOT NULL REFERENCES USERS(ID) ON DELETE CASCADE,
     CREATED_DATE TIMESTAMP WITHOUT TIME ZONE
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS ITEM_BOOKING_SUMMARY
+(
+    ITEM_ID BIGINT PRIMARY KEY REFERENCES ITEMS(ID) ON DELETE CASCADE,
+    LAST_BOOKING_ID BIGINT REFERENCES BOOKINGS(ID) ON DELETE SET NULL,
+    NEXT_BOOKING_ID BIGINT REFERENCES BOOKINGS(ID) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS BOOKING_EVENTS
+(
+    ID BIGINT PRIMARY KEY,
+    BOOKING_ID BIGINT NOT NULL,
+    ITEM_ID BIGINT NOT NULL,
+    OWNER_ID BIGINT NOT NULL,
+    BOOKER_ID BIGINT NOT NULL,
+    STATUS SMALLINT NOT NULL,
+    CREATED TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS REQUESTS_REQUESTER_CREATED_IDX ON REQUESTS (REQUESTER_ID, CREATED);
+
+CREATE INDEX IF NOT EXISTS ITEMS_OWNER_ID_IDX ON ITEMS (OWNER_ID, ID);
+
+CREATE INDEX IF NOT EXISTS ITEMS_REQUEST_ID_IDX ON ITEMS (REQUEST_ID);
+
+ALTER TABLE BOOKINGS ADD COLUMN IF NOT EXISTS OWNER_ID BIGINT REFERENCES USERS(ID) ON DELETE CASCADE;
+
+UPDATE BOOKINGS b SET OWNER_ID = (SELECT i.OWNER_ID FROM ITEMS i WHERE i.ID = b.ITEM_ID) WHERE b.OWNER_ID IS NULL;
+
+ALTER TABLE BOOKINGS ALTER COLUMN OWNER_ID SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_OWNER_START_IDX ON BOOKINGS (OWNER_ID, START_DATE);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_BOOKER_START_IDX ON BOOKINGS (BOOKER_ID, START_DATE);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_STATUS_START_IDX ON BOOKINGS (ITEM_ID, STATUS, START_DATE);
+
+CREATE INDEX IF NOT EXISTS COMMENTS_ITEM_CREATED_IDX ON COMMENTS (ITEM_ID, CREATED_DATE);
+
+CREATE INDEX IF NOT EXISTS COMMENTS_AUTHOR_ID_IDX ON COMMENTS (AUTHOR_ID);
+
+CREATE INDEX IF NOT EXISTS ITEM_BOOKING_SUMMARY_LAST_IDX ON ITEM_BOOKING_SUMMARY (LAST_BOOKING_ID);
+
+CREATE INDEX IF NOT EXISTS ITEM_BOOKING_SUMMARY_NEXT_IDX ON ITEM_BOOKING_SUMMARY (NEXT_BOOKING_ID);
+
+ALTER TABLE BOOKING_EVENTS ADD COLUMN IF NOT EXISTS ATTEMPTS INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE BOOKING_EVENTS ADD COLUMN IF NOT EXISTS NEXT_ATTEMPT TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE BOOKING_EVENTS SET NEXT_ATTEMPT = CREATED WHERE NEXT_ATTEMPT IS NULL;
+
+ALTER TABLE BOOKING_EVENTS ALTER COLUMN NEXT_ATTEMPT SET NOT NULL;
+
+ALTER TABLE BOOKING_EVENTS ADD COLUMN IF NOT EXISTS DEAD BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS BOOKING_EVENTS_DEAD_NEXT_ATTEMPT_IDX ON BOOKING_EVENTS (DEAD, NEXT_ATTEMPT);
@@ -0,0 +1,330 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("postgres")
+@Transactional
+@SpringBootTest
+@Import(RepositoryQueryPlanTest.PlanRecorder.class)
+class RepositoryQueryPlanTest {
+    private static final long BASE = 1_000_000_000_000L;
+    private static final int USERS = 20000;
+    private static final int REQUESTS = 4000;
+    private static final int ITEMS = 20000;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int COMMENTS = 40000;
+    private static final long SEQ_SCAN_ROWS_LIMIT = 1000;
+    private static final Map<String, Pattern> ACCEPTED_SEQ_SCANS = Map.of(
+            "requests", Pattern.compile("from public\\.requests \\w+ left outer join public\\.users \\w+ "
+                    + "on \\w+\\.requester_id=\\w+\\.id where \\w+\\.id<>\\? limit \\?"));
+
+    @Autowired
+    private PlanRecorder recorder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Long userId = BASE + 17;
+    private final Long itemId = BASE + 117;
+    private final List<Long> itemIds = LongStream.rangeClosed(BASE + 100, BASE + 119).boxed()
+            .collect(Collectors.toList());
+    private final List<Status> allStatuses = List.of(Status.values());
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO USERS (ID, NAME, EMAIL) " +
+                "SELECT ? + g, 'user ' || g, 'plan' || g || '@mail.ru' FROM generate_series(1, ?) g", BASE, USERS);
+        jdbcTemplate.update("INSERT INTO REQUESTS (ID, DESCRIPTION, REQUESTER_ID, CREATED) " +
+                "SELECT ? + g, 'request ' || g, ? + 1 + g % ?, now() - g * INTERVAL '1 hour' " +
+                "FROM generate_series(1, ?) g", BASE, BASE, USERS, REQUESTS);
+        jdbcTemplate.update("INSERT INTO ITEMS (ID, NAME, DESCRIPTION, AVAILABLE, OWNER_ID, REQUEST_ID, VERSION) " +
+                "SELECT ? + g, 'item ' || g, 'description of item ' || g, g % 4 <> 0, ? + 1 + g % ?, " +
+                "CASE WHEN g % 10 = 0 THEN ? + 1 + g % ? END, 0 FROM generate_series(1, ?) g",
+                BASE, BASE, USERS, BASE, REQUESTS, ITEMS);
+        jdbcTemplate.update("INSERT INTO BOOKINGS (ID, START_DATE, END_DATE, ITEM_ID, BOOKER_ID, OWNER_ID, " +
+                        "STATUS, VERSION) " +
+                "SELECT ? + g, s.start_date, s.start_date + INTERVAL '1 day', ? + 1 + g % ?, " +
+                "? + 1 + (g % ? + 7 + g / ?) % ?, ? + 1 + (1 + g % ?) % ?, " +
+                "CASE WHEN g % 7 = 0 THEN 0 WHEN g % 11 = 0 THEN 2 ELSE 1 END, 0 " +
+                "FROM generate_series(0, ? - 1) g, LATERAL (SELECT date_trunc('day', now())::TIMESTAMP " +
+                "+ (g / ? - 5) * INTERVAL '30 days' + (g % 24) * INTERVAL '1 hour' AS start_date) s",
+                BASE, BASE, ITEMS, BASE, ITEMS, ITEMS, USERS, BASE, ITEMS, USERS,
+                ITEMS * BOOKINGS_PER_ITEM, ITEMS);
+        jdbcTemplate.update("INSERT INTO COMMENTS (ID, TEXT, ITEM_ID, AUTHOR_ID, CREATED_DATE) " +
+                "SELECT ? + g, 'comment ' || g, ? + 1 + g % ?, ? + 1 + (g * 3) % ?, now() - g * INTERVAL '1 minute' " +
+                "FROM generate_series(1, ?) g", BASE, BASE, ITEMS, BASE, USERS, COMMENTS);
+        jdbcTemplate.update("INSERT INTO ITEM_BOOKING_SUMMARY (ITEM_ID, LAST_BOOKING_ID, NEXT_BOOKING_ID) " +
+                "SELECT i.ID, " +
+                "(SELECT b.ID FROM BOOKINGS b WHERE b.ITEM_ID = i.ID AND b.STATUS = 1 AND b.START_DATE < now() " +
+                "ORDER BY b.START_DATE DESC LIMIT 1), " +
+                "(SELECT b.ID FROM BOOKINGS b WHERE b.ITEM_ID = i.ID AND b.STATUS = 1 AND b.START_DATE > now() " +
+                "ORDER BY b.START_DATE LIMIT 1) " +
+                "FROM ITEMS i WHERE i.ID > ?", BASE);
+        jdbcTemplate.queryForList("SELECT gin_clean_pending_list(c.oid::regclass) FROM pg_class c " +
+                "JOIN pg_am a ON a.oid = c.relam WHERE a.amname = 'gin' AND c.relkind = 'i'");
+        jdbcTemplate.execute("ANALYZE USERS, REQUESTS, ITEMS, BOOKINGS, COMMENTS, ITEM_BOOKING_SUMMARY");
+        recorder.start();
+    }
+
+    @Test
+    void bookingListsUseIndexes() {
+        bookingRepository.findViewsByBookerId(userId, allStatuses, now.minusYears(10), now.plusYears(10),
+                now.minusYears(10), now.plusYears(10), PageRequest.of(0, 20));
+        bookingRepository.findViewsByOwnerId(userId, allStatuses, now.minusYears(10), now.plusYears(10),
+                now.minusYears(10), now.plusYears(10), PageRequest.of(0, 20));
+        bookingRepository.findViewsByBookerId(userId, List.of(Status.WAITING), now, now.plusYears(10),
+                now.minusYears(10), now.plusYears(10), PageRequest.of(0, 20));
+        bookingRepository.countViewsByBookerId(userId, allStatuses, now.minusYears(10), now,
+                now.minusYears(10), now);
+        bookingRepository.countViewsByOwnerId(userId, allStatuses, now, now.plusYears(10),
+                now.minusYears(10), now.plusYears(10));
+        bookingRepository.countStatsByBookerId(userId, now, Status.APPROVED, Status.WAITING, Status.REJECTED,
+                Status.EXPIRED);
+        bookingRepository.countStatsByOwnerId(userId, now, Status.APPROVED, Status.WAITING, Status.REJECTED,
+                Status.EXPIRED);
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void bookingLookupsUseIndexes() {
+        List<Long> bookingIds = LongStream.range(BASE + 1000, BASE + 1020).boxed().collect(Collectors.toList());
+        bookingRepository.findCreationView(itemId, userId);
+        bookingRepository.findViewsByIdIn(bookingIds);
+        bookingRepository.findLastByItemIdIn(itemIds, now, Status.APPROVED);
+        bookingRepository.findNextByItemIdIn(itemIds, now, Status.APPROVED);
+        bookingRepository.findActiveByItemId(itemId, List.of(Status.WAITING, Status.APPROVED), now);
+        bookingRepository.findByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(itemId, userId, now,
+                Status.APPROVED);
+        bookingRepository.findExpiredIdsForUpdateSkipLocked(Status.WAITING, now, PageRequest.of(0, 500));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void itemQueriesUseIndexes() {
+        itemRepository.findByOwnerIdOrderByIdAsc(userId, PageRequest.of(0, 20));
+        itemRepository.findIdsByOwnerId(userId);
+        itemRepository.findAfter(BASE, PageRequest.of(0, 1000));
+        itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, BASE, PageRequest.of(0, 20));
+        itemRepository.searchFullText("item 1234", PageRequest.of(0, 20));
+        itemRepository.searchFullTextAfter("1234", BASE, PageRequest.of(0, 20));
+        itemRepository.lockByBookingIdIn(LongStream.range(BASE + 1000, BASE + 1020).boxed()
+                .collect(Collectors.toList()));
+        summaryRepository.findViewByItemIdIn(itemIds);
+        summaryRepository.findByItemIdInOrderByItemIdAsc(itemIds);
+        commentRepository.findByItemId(itemId);
+        commentRepository.findByItemIdInOrderByCreatedAsc(itemIds);
+        commentRepository.findItemIdsByAuthorId(userId);
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void requestAndUserQueriesUseIndexes() {
+        requestRepository.findByRequesterId_IdOrderByCreatedAsc(userId);
+        requestRepository.findByRequesterId_IdNot(userId, PageRequest.of(0, 20));
+        userRepository.findIdsAfter(BASE + 1000, PageRequest.of(0, 1000));
+
+        assertNoSequentialScans();
+    }
+
+    private void assertNoSequentialScans() {
+        List<Plan> plans = recorder.stop();
+        assertThat(plans).isNotEmpty();
+        Map<String, Long> rows = new ConcurrentHashMap<>();
+        List<String> violations = new ArrayList<>();
+        for (Plan plan : plans) {
+            collectSequentialScans(plan.getPlan(), relation -> rows.computeIfAbsent(relation,
+                    name -> jdbcTemplate.queryForObject(
+                            "SELECT COALESCE(MAX(reltuples), 0)::BIGINT FROM pg_class WHERE relname = ?", Long.class,
+                            name)))
+                    .stream()
+                    .filter(relation -> !ACCEPTED_SEQ_SCANS.containsKey(relation)
+                            || !ACCEPTED_SEQ_SCANS.get(relation).matcher(plan.getSql()).find())
+                    .forEach(relation -> violations.add(relation + " in " + plan.getSql() + "\n"
+                            + describe(plan.getPlan(), "  ")));
+        }
+        assertThat(violations).as("sequential scans over tables with more than %d rows", SEQ_SCAN_ROWS_LIMIT)
+                .isEmpty();
+    }
+
+    private List<String> collectSequentialScans(JsonNode node, ToLongFunction<String> rows) {
+        List<String> relations = new ArrayList<>();
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            if (rows.applyAsLong(relation) > SEQ_SCAN_ROWS_LIMIT) {
+                relations.add(relation);
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            relations.addAll(collectSequentialScans(child, rows));
+        }
+        return relations;
+    }
+
+    private String describe(JsonNode node, String indent) {
+        StringBuilder description = new StringBuilder(indent).append(node.path("Node Type").asText());
+        if (node.has("Relation Name")) {
+            description.append(" on ").append(node.path("Relation Name").asText());
+        }
+        if (node.has("Index Name")) {
+            description.append(" using ").append(node.path("Index Name").asText());
+        }
+        description.append(" (cost=").append(node.path("Total Cost").asText())
+                .append(" rows=").append(node.path("Plan Rows").asText()).append(")\n");
+        for (JsonNode child : node.path("Plans")) {
+            description.append(describe(child, indent + "  "));
+        }
+        return description.toString();
+    }
+
+    static class Plan {
+        private final String sql;
+        private final JsonNode plan;
+
+        Plan(String sql, JsonNode plan) {
+            this.sql = sql;
+            this.plan = plan;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        JsonNode getPlan() {
+            return plan;
+        }
+    }
+
+    @TestComponent
+    static class PlanRecorder implements BeanPostProcessor {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final List<Plan> plans = new ArrayList<>();
+        private volatile boolean recording;
+
+        void start() {
+            plans.clear();
+            recording = true;
+        }
+
+        List<Plan> stop() {
+            recording = false;
+            return new ArrayList<>(plans);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource ? wrap((DataSource) bean, DataSource.class) : bean;
+        }
+
+        private <T> T wrap(T target, Class<T> type) {
+            return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        if (result instanceof Connection) {
+                            return wrap((Connection) result, Connection.class);
+                        }
+                        if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")
+                                && isSelect((String) args[0])) {
+                            return explaining((Connection) target, (String) args[0], (PreparedStatement) result);
+                        }
+                        return result;
+                    }));
+        }
+
+        private PreparedStatement explaining(Connection connection, String sql, PreparedStatement statement) {
+            List<Object[]> parameters = new ArrayList<>();
+            List<Method> setters = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length > 1
+                                && args[0] instanceof Integer) {
+                            setters.add(method);
+                            parameters.add(args);
+                        } else if (recording && (method.getName().equals("executeQuery")
+                                || method.getName().equals("execute")) && (args == null || args.length == 0)) {
+                            plans.add(new Plan(sql, explain(connection, sql, setters, parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private JsonNode explain(Connection connection, String sql, List<Method> setters,
+                                 List<Object[]> parameters) throws Exception {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+                for (int i = 0; i < setters.size(); i++) {
+                    setters.get(i).invoke(explain, parameters.get(i));
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+                }
+            }
+        }
+
+        private static boolean isSelect(String sql) {
+            String statement = sql.trim().toLowerCase(Locale.ROOT);
+            return statement.startsWith("select") || statement.startsWith("with");
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.function.LongPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookedDaysIndexTest {
+    private final BookedDaysIndex index = new BookedDaysIndex(null);
+
+    @Test
+    void itemIdsAboveIntegerRangeAreMarked() {
+        long itemId = Integer.MAX_VALUE + 5L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        index.markBooked(itemId, start.atStartOfDay(), start.plusDays(2).atStartOfDay());
+
+        LongPredicate free = index.freeBetween(start, start.plusDays(1));
+
+        assertThat(free.test(itemId)).isFalse();
+        assertThat(free.test(itemId + 1)).isTrue();
+        assertThat(free.test(itemId - (1L << 32))).isTrue();
+        assertThat(index.freeBetween(start.plusDays(2), start.plusDays(3)).test(itemId)).isTrue();
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.user.UserController.headerUserId;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingBatchUpdateTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2041, 5, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Long ownerId;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("owner").getId();
+        booker = userRepository.findById(createUser("booker").getId()).orElseThrow();
+        item = createItem(ownerId);
+    }
+
+    @Test
+    void reportsOutcomePerDecision() {
+        Long strangerId = createUser("stranger").getId();
+        Booking first = save(item, 10, 12, Status.WAITING);
+        Booking overlapping = save(item, 11, 13, Status.WAITING);
+        Booking rejected = save(item, 20, 21, Status.WAITING);
+        Booking decided = save(item, 30, 31, Status.APPROVED);
+        Booking foreign = save(createItem(strangerId), 10, 12, Status.WAITING);
+
+        List<BookingBatchResultDto> results = bookingService.updateBookings(ownerId, List.of(
+                decision(first.getId(), true),
+                decision(overlapping.getId(), true),
+                decision(rejected.getId(), false),
+                decision(rejected.getId(), false),
+                decision(decided.getId(), true),
+                decision(foreign.getId(), true),
+                decision(Long.MAX_VALUE, true)));
+
+        assertThat(results).extracting(BookingBatchResultDto::getId).containsExactly(first.getId(),
+                overlapping.getId(), rejected.getId(), rejected.getId(), decided.getId(), foreign.getId(),
+                Long.MAX_VALUE);
+        assertThat(results).extracting(BookingBatchResultDto::getStatus)
+                .containsExactly(200, 409, 200, 400, 400, 404, 404);
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(results.get(2).getBooking().getStatus()).isEqualTo(Status.REJECTED);
+        assertThat(results.get(1).getBooking()).isNull();
+        assertThat(results.get(1).getError()).isEqualTo("Вещь уже забронирована на это время.");
+        assertThat(statusOf(first)).isEqualTo(Status.APPROVED);
+        assertThat(statusOf(overlapping)).isEqualTo(Status.WAITING);
+        assertThat(statusOf(rejected)).isEqualTo(Status.REJECTED);
+        assertThat(statusOf(foreign)).isEqualTo(Status.WAITING);
+    }
+
+    @Test
+    void reportsConflictWhenOverlappingBookingWasApprovedElsewhere() {
+        save(item, 10, 12, Status.APPROVED);
+        Booking lost = save(item, 11, 13, Status.WAITING);
+        Booking other = save(item, 20, 22, Status.WAITING);
+
+        List<BookingBatchResultDto> results = bookingService.updateBookings(ownerId, List.of(
+                decision(lost.getId(), true),
+                decision(other.getId(), true)));
+
+        assertThat(results).extracting(BookingBatchResultDto::getStatus).containsExactly(409, 200);
+        assertThat(results.get(0).getError()).isEqualTo("Вещь уже забронирована на это время.");
+        assertThat(statusOf(lost)).isEqualTo(Status.WAITING);
+        assertThat(statusOf(other)).isEqualTo(Status.APPROVED);
+        assertThatThrownBy(() -> bookingService.updateBooking(ownerId, lost.getId(), true))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void rejectsEmptyOversizedAndIncompleteBatches() throws Exception {
+        String oversized = IntStream.rangeClosed(1, BookingController.BATCH_MAX_SIZE + 1)
+                .mapToObj(id -> "{\"id\":" + id + ",\"approved\":true}")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        for (String body : List.of("[]", oversized, "[{\"id\":1}]")) {
+            mockMvc.perform(patch("/bookings/batch")
+                            .header(headerUserId, ownerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private Booking save(Item target, int fromHour, int toHour, Status status) {
+        return bookingRepository.save(Booking.builder()
+                .item(target)
+                .booker(booker)
+                .ownerId(target.getOwner().getId())
+                .start(BASE.plusHours(fromHour))
+                .end(BASE.plusHours(toHour))
+                .status(status)
+                .build());
+    }
+
+    private Status statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private BookingDecisionDto decision(Long id, boolean approved) {
+        return BookingDecisionDto.builder()
+                .id(id)
+                .approved(approved)
+                .build();
+    }
+
+    private Item createItem(Long owner) {
+        return itemRepository.findById(itemService.createItem(owner, ItemDto.builder()
+                .name("Байдарка")
+                .description("Байдарка двухместная")
+                .available(true)
+                .build()).getId()).orElseThrow();
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
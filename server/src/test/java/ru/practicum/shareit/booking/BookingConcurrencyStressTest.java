@@ -0,0 +1,190 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingConcurrencyStressTest {
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS = 2000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("owner").getId();
+        bookerId = createUser("booker").getId();
+        itemId = itemService.createItem(ownerId, ItemDto.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .build()).getId();
+    }
+
+    @Test
+    void concurrentCreateAndApproveNeverOverlaps() throws Exception {
+        Random random = new Random(42);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LocalDateTime start = BASE.plusHours(random.nextInt(24 * 60));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            tasks.add(() -> {
+                try {
+                    BookingResponseDto booking = bookingService.createBooking(bookerId, BookingRequestDto.builder()
+                            .itemId(itemId)
+                            .start(start)
+                            .end(end)
+                            .build());
+                    bookingService.updateBooking(ownerId, booking.getId(), true);
+                    return true;
+                } catch (BookingException | ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        long began = System.nanoTime();
+        long approved = runConcurrently(tasks);
+        double seconds = (System.nanoTime() - began) / 1e9;
+        log.info("Стресс-тест: {} попыток в {} потоков за {} с, {} бронирований/с, подтверждено {}.",
+                ATTEMPTS, THREADS, String.format("%.2f", seconds), String.format("%.0f", ATTEMPTS / seconds),
+                approved);
+
+        assertThat(approved).isPositive();
+        assertNoOverlappingApproved();
+    }
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsApproveOnlyDisjoint() throws Exception {
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        User booker = userRepository.findById(bookerId).orElseThrow();
+        Random random = new Random(7);
+        List<Booking> waiting = bookingRepository.saveAll(IntStream.range(0, THREADS * 4)
+                .mapToObj(i -> {
+                    LocalDateTime start = BASE.plusHours(random.nextInt(72));
+                    return Booking.builder()
+                            .item(item)
+                            .booker(booker)
+                            .ownerId(ownerId)
+                            .start(start)
+                            .end(start.plusHours(1 + random.nextInt(12)))
+                            .status(Status.WAITING)
+                            .build();
+                })
+                .collect(Collectors.toList()));
+        List<Callable<Boolean>> tasks = waiting.stream()
+                .map(booking -> (Callable<Boolean>) () -> {
+                    try {
+                        bookingService.updateBooking(ownerId, booking.getId(), true);
+                        return true;
+                    } catch (BookingException | ConflictException e) {
+                        return false;
+                    }
+                })
+                .collect(Collectors.toList());
+
+        long began = System.nanoTime();
+        long approved = runConcurrently(tasks);
+        double seconds = (System.nanoTime() - began) / 1e9;
+        log.info("Стресс-тест: {} одновременных подтверждений за {} с, {} подтверждений/с, подтверждено {}.",
+                tasks.size(), String.format("%.2f", seconds), String.format("%.0f", tasks.size() / seconds),
+                approved);
+
+        assertThat(approved).isPositive().isLessThan(tasks.size());
+        assertNoOverlappingApproved();
+    }
+
+    private long runConcurrently(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    return task.call();
+                }));
+            }
+            ready.countDown();
+            long succeeded = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(2, TimeUnit.MINUTES)) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertNoOverlappingApproved() {
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(itemId))
+                .filter(booking -> booking.getStatus() == Status.APPROVED)
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+        for (int i = 1; i < approved.size(); i++) {
+            assertThat(approved.get(i).getStart())
+                    .as("бронирования %d и %d пересекаются", approved.get(i - 1).getId(), approved.get(i).getId())
+                    .isAfterOrEqualTo(approved.get(i - 1).getEnd());
+        }
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-events",
+        "shareit.booking.events.dispatch-delay=3600000",
+        "shareit.booking.events.max-attempts=3",
+        "shareit.booking.events.retry-delay=0s"})
+@ActiveProfiles("test")
+@Import(BookingEventDeliveryTest.FlakyListener.class)
+class BookingEventDeliveryTest {
+    @Autowired
+    private BookingEventService eventService;
+    @Autowired
+    private BookingEventRepository eventRepository;
+    @Autowired
+    private FlakyListener listener;
+
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        listener.delivered.clear();
+        LocalDateTime created = LocalDateTime.now();
+        eventId = eventRepository.save(BookingEvent.builder()
+                .bookingId(1L)
+                .itemId(2L)
+                .ownerId(3L)
+                .bookerId(4L)
+                .status(Status.WAITING)
+                .created(created)
+                .attempts(0)
+                .nextAttempt(created)
+                .dead(false)
+                .build()).getId();
+    }
+
+    @Test
+    void failedEventStaysInTheOutboxAndIsRedelivered() {
+        listener.failuresLeft = 1;
+
+        assertThat(eventService.dispatch(10)).isEqualTo(1);
+        BookingEvent failed = eventRepository.findById(eventId).orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getDead()).isFalse();
+
+        assertThat(eventService.dispatch(10)).isEqualTo(1);
+        assertThat(eventRepository.findById(eventId)).isEmpty();
+        assertThat(listener.delivered).containsExactly(eventId, eventId);
+    }
+
+    @Test
+    void eventMovesToDeadLettersAfterMaxAttempts() {
+        listener.failuresLeft = Integer.MAX_VALUE;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(eventService.dispatch(10)).isEqualTo(1);
+        }
+        assertThat(eventService.dispatch(10)).isZero();
+
+        BookingEvent dead = eventRepository.findById(eventId).orElseThrow();
+        assertThat(dead.getAttempts()).isEqualTo(3);
+        assertThat(dead.getDead()).isTrue();
+        assertThat(listener.delivered).hasSize(3);
+    }
+
+    static class FlakyListener implements BookingEventListener {
+        final List<Long> delivered = new ArrayList<>();
+        int failuresLeft;
+
+        @Override
+        public void onBookingEvent(BookingEvent event) {
+            delivered.add(event.getId());
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("Сбой доставки.");
+            }
+        }
+    }
+}
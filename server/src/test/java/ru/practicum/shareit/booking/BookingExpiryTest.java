@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.user.UserController.headerUserId;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-expiry",
+        "shareit.booking.expiry.sweep-delay=3600000",
+        "shareit.booking.skip-locked=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingExpiryTest {
+    private static final int CHUNK = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingExpirer expirer;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingIntervalIndex intervalIndex;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void expiresStartedWaitingBookingsInChunksAndReleasesTheirSlots() throws Exception {
+        Long ownerId = createUser("owner").getId();
+        User booker = userRepository.findById(createUser("booker").getId()).orElseThrow();
+        Item item = itemRepository.findById(itemService.createItem(ownerId, ItemDto.builder()
+                .name("Самокат")
+                .description("Самокат городской")
+                .available(true)
+                .build()).getId()).orElseThrow();
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<Booking> started = bookingRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> booking(item, booker, ownerId, hour.minusHours(5 - i), hour.plusHours(2 + i),
+                        Status.WAITING))
+                .collect(Collectors.toList()));
+        Booking approved = bookingRepository.save(booking(item, booker, ownerId, hour.plusHours(10),
+                hour.plusHours(12), Status.APPROVED));
+        Booking upcoming = bookingRepository.save(booking(item, booker, ownerId, hour.plusHours(20),
+                hour.plusHours(22), Status.WAITING));
+
+        assertThat(intervalIndex.findFreeSlots(item.getId(), hour, hour.plusHours(12)))
+                .extracting(FreeSlotDto::getStart, FreeSlotDto::getEnd)
+                .containsExactly(tuple(hour.plusHours(6), hour.plusHours(10)));
+
+        assertThat(expirer.expireWaiting(CHUNK)).isEqualTo(CHUNK);
+        assertThat(expirer.expireWaiting(CHUNK)).isEqualTo(CHUNK);
+        assertThat(expirer.expireWaiting(CHUNK)).isEqualTo(1);
+        assertThat(expirer.expireWaiting(CHUNK)).isZero();
+
+        assertThat(started).allSatisfy(booking -> assertThat(statusOf(booking)).isEqualTo(Status.EXPIRED));
+        assertThat(statusOf(approved)).isEqualTo(Status.APPROVED);
+        assertThat(statusOf(upcoming)).isEqualTo(Status.WAITING);
+        assertThat(intervalIndex.findFreeSlots(item.getId(), hour, hour.plusHours(12)))
+                .extracting(FreeSlotDto::getStart, FreeSlotDto::getEnd)
+                .containsExactly(tuple(hour, hour.plusHours(10)));
+
+        assertThat(bookingService.getAllByBookerId(booker.getId(), State.EXPIRED, PageRequest.of(0, 20)))
+                .extracting(BookingResponseDto::getId)
+                .containsExactlyInAnyOrderElementsOf(started.stream().map(Booking::getId)
+                        .collect(Collectors.toList()));
+        assertThat(bookingService.getAllByOwnerId(ownerId, State.WAITING, PageRequest.of(0, 20)))
+                .extracting(BookingResponseDto::getId)
+                .containsExactly(upcoming.getId());
+        assertThat(bookingService.getStatsByBookerId(booker.getId()).getExpired()).isEqualTo(5);
+        mockMvc.perform(get("/bookings/owner")
+                        .header(headerUserId, ownerId)
+                        .param("state", "EXPIRED")
+                        .param("from", "0")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].status").value("EXPIRED"));
+    }
+
+    private Booking booking(Item item, User booker, Long ownerId, LocalDateTime start, LocalDateTime end,
+                            Status status) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .ownerId(ownerId)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+
+    private Status statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
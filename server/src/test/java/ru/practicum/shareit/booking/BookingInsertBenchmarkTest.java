@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+class BookingInsertBenchmarkTest {
+    private static final long BASE = 3_000_000_000_000L;
+    private static final int USERS = 1000;
+    private static final int ITEMS = 1000;
+    private static final int BOOKINGS = 100_000;
+    private static final int FLUSH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void batchedInsertsOutperformSingleRowInserts() {
+        jdbcTemplate.update("INSERT INTO USERS (ID, NAME, EMAIL) " +
+                "SELECT ? + g, 'user ' || g, 'insert' || g || '@mail.ru' FROM generate_series(1, ?) g", BASE, USERS);
+        jdbcTemplate.update("INSERT INTO ITEMS (ID, NAME, DESCRIPTION, AVAILABLE, OWNER_ID, VERSION) " +
+                "SELECT ? + g, 'item ' || g, 'description ' || g, TRUE, ? + 1 + g % ?, 0 " +
+                "FROM generate_series(1, ?) g", BASE, BASE, USERS, ITEMS);
+        Session session = entityManager.unwrap(Session.class);
+        insert(FLUSH_SIZE);
+
+        session.setJdbcBatchSize(1);
+        double single = insert(BOOKINGS);
+        session.setJdbcBatchSize(null);
+        double batched = insert(BOOKINGS);
+        double server = insertOnServer();
+
+        log.info("Вставка {} бронирований: по одной строке {} в секунду, пакетами {} в секунду, " +
+                        "INSERT ... SELECT на сервере {} в секунду.", BOOKINGS,
+                Math.round(single), Math.round(batched), Math.round(server));
+        assertThat(batched).isGreaterThan(single);
+    }
+
+    private double insert(int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long begin = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long itemId = BASE + 1 + i % ITEMS;
+            entityManager.persist(Booking.builder()
+                    .start(start.plusHours(i / ITEMS))
+                    .end(start.plusHours(i / ITEMS + 1))
+                    .item(entityManager.getReference(Item.class, itemId))
+                    .booker(entityManager.getReference(User.class, BASE + 1 + (itemId + 1) % USERS))
+                    .ownerId(BASE + 1 + itemId % USERS)
+                    .status(Status.WAITING)
+                    .build());
+            if ((i + 1) % FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return count / ((System.nanoTime() - begin) / 1e9);
+    }
+
+    private double insertOnServer() {
+        long begin = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO BOOKINGS (ID, START_DATE, END_DATE, ITEM_ID, BOOKER_ID, OWNER_ID, " +
+                        "STATUS, VERSION) " +
+                "SELECT ? + g, s.start_date, s.start_date + INTERVAL '1 hour', ? + 1 + g % ?, " +
+                "? + 1 + (g % ? + 2) % ?, ? + 1 + (g % ? + 1) % ?, 0, 0 " +
+                "FROM generate_series(0, ? - 1) g, LATERAL (SELECT now()::TIMESTAMP + INTERVAL '1 day' " +
+                "+ (g / ?) * INTERVAL '1 hour' AS start_date) s",
+                BASE, BASE, ITEMS, BASE, ITEMS, USERS, BASE, ITEMS, USERS, BOOKINGS, ITEMS);
+        return BOOKINGS / ((System.nanoTime() - begin) / 1e9);
+    }
+}
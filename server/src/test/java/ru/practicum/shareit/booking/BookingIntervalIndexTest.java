@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.exception.BookingException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class BookingIntervalIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    private final BookingIntervalIndex index = new BookingIntervalIndex(mock(BookingRepository.class),
+            "expireAfterAccess=0s");
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void treeFindsOverlapsAndFreeSlots() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        for (int i = 0; i < 50; i++) {
+            tree.insert(i, at(i * 4), at(i * 4 + 2));
+        }
+        tree.insert(100, at(1), at(7));
+
+        assertThat(tree.overlaps(at(2), at(3))).isTrue();
+        assertThat(tree.overlaps(at(7), at(8))).isFalse();
+        assertThat(tree.overlaps(at(199), at(300))).isFalse();
+        assertThat(slots(tree.freeSlots(at(0), at(13)))).containsExactly(at(7), at(8), at(10), at(12));
+
+        tree.remove(100, at(1));
+        assertThat(tree.overlaps(at(2), at(3))).isFalse();
+        assertThat(slots(tree.freeSlots(at(0), at(9)))).containsExactly(at(2), at(4), at(6), at(8));
+    }
+
+    @Test
+    void pendingReservationSurvivesEvictionUntilTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(1L, 10L, at(10), at(12));
+
+        assertThatThrownBy(() -> index.reserve(1L, 11L, at(11), at(13))).isInstanceOf(BookingException.class);
+        assertThat(slots(index.findFreeSlots(1L, at(0), at(20)))).containsExactly(at(0), at(10), at(12), at(20));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        index.reserve(1L, 11L, at(11), at(13));
+    }
+
+    private static LocalDateTime at(int hours) {
+        return BASE.plusHours(hours);
+    }
+
+    private static List<LocalDateTime> slots(List<FreeSlotDto> slots) {
+        return slots.stream()
+                .flatMap(slot -> List.of(slot.getStart(), slot.getEnd()).stream())
+                .collect(Collectors.toList());
+    }
+}
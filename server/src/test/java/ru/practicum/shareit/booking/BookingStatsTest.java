@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingStatsTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2042, 6, 1, 12, 0);
+    private static final int[] STARTS = {-3, -1, 0, 1};
+    private static final int[] ENDS = {-2, 0, 2, 3};
+    private static final Map<State, Function<BookingStatsDto, Long>> COUNTERS = Map.of(
+            State.ALL, BookingStatsDto::getAll,
+            State.CURRENT, BookingStatsDto::getCurrent,
+            State.PAST, BookingStatsDto::getPast,
+            State.FUTURE, BookingStatsDto::getFuture,
+            State.WAITING, BookingStatsDto::getWaiting,
+            State.REJECTED, BookingStatsDto::getRejected,
+            State.EXPIRED, BookingStatsDto::getExpired);
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("owner").getId();
+        bookerId = createUser("booker").getId();
+        itemId = itemService.createItem(ownerId, ItemDto.builder()
+                .name("Лодка")
+                .description("Лодка надувная")
+                .available(true)
+                .build()).getId();
+    }
+
+    @Test
+    void aggregateMatchesListingCountsForEveryState() {
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        User booker = userRepository.findById(bookerId).orElseThrow();
+        List<Booking> bookings = new ArrayList<>();
+        for (Status status : Status.values()) {
+            for (int start : STARTS) {
+                for (int end : ENDS) {
+                    if (end > start) {
+                        bookings.add(Booking.builder()
+                                .item(item)
+                                .booker(booker)
+                                .ownerId(ownerId)
+                                .start(NOW.plusHours(start))
+                                .end(NOW.plusHours(end))
+                                .status(status)
+                                .build());
+                    }
+                }
+            }
+        }
+        bookingRepository.saveAll(bookings);
+
+        BookingStatsDto bookerStats = bookingRepository.countStatsByBookerId(bookerId, NOW,
+                Status.APPROVED, Status.WAITING, Status.REJECTED, Status.EXPIRED);
+        BookingStatsDto ownerStats = bookingRepository.countStatsByOwnerId(ownerId, NOW,
+                Status.APPROVED, Status.WAITING, Status.REJECTED, Status.EXPIRED);
+
+        assertThat(bookerStats.getCurrent()).isPositive();
+        assertThat(bookerStats.getPast()).isPositive();
+        assertThat(bookerStats.getFuture()).isPositive();
+        COUNTERS.forEach((state, counter) -> {
+            BookingFilter filter = BookingFilter.of(state, NOW);
+            assertThat(counter.apply(bookerStats)).as("%s у автора", state)
+                    .isEqualTo(bookingRepository.countViewsByBookerId(bookerId, filter.getStatuses(),
+                            filter.getStartAfter(), filter.getStartBefore(), filter.getEndAfter(),
+                            filter.getEndBefore()));
+            assertThat(counter.apply(ownerStats)).as("%s у владельца", state)
+                    .isEqualTo(bookingRepository.countViewsByOwnerId(ownerId, filter.getStatuses(),
+                            filter.getStartAfter(), filter.getStartBefore(), filter.getEndAfter(),
+                            filter.getEndBefore()));
+        });
+    }
+
+    @Test
+    void createAndStatusChangeEvictCachedStats() {
+        assertThat(bookingService.getStatsByBookerId(bookerId).getAll()).isZero();
+        assertThat(bookingService.getStatsByOwnerId(ownerId).getWaiting()).isZero();
+
+        Long bookingId = bookingService.createBooking(bookerId, BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(NOW.plusDays(1))
+                .end(NOW.plusDays(2))
+                .build()).getId();
+
+        assertThat(bookingService.getStatsByBookerId(bookerId).getWaiting()).isEqualTo(1);
+        assertThat(bookingService.getStatsByOwnerId(ownerId).getWaiting()).isEqualTo(1);
+
+        bookingService.updateBooking(ownerId, bookingId, false);
+
+        assertThat(bookingService.getStatsByBookerId(bookerId).getRejected()).isEqualTo(1);
+        assertThat(bookingService.getStatsByOwnerId(ownerId).getWaiting()).isZero();
+        assertThat(bookingService.getStatsByOwnerId(ownerId).getRejected()).isEqualTo(1);
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ItemAvailabilityEndpointTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2041, 3, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void freeSlotsSkipWaitingAndApprovedBookingsButNotRejected() throws Exception {
+        Long ownerId = createUser("owner").getId();
+        Long bookerId = createUser("booker").getId();
+        Long itemId = itemService.createItem(ownerId, ItemDto.builder()
+                .name("Палатка")
+                .description("Палатка трехместная")
+                .available(true)
+                .build()).getId();
+        Long approved = book(bookerId, itemId, 10, 12);
+        book(bookerId, itemId, 14, 15);
+        Long rejected = book(bookerId, itemId, 16, 18);
+        bookingService.updateBooking(ownerId, approved, true);
+        bookingService.updateBooking(ownerId, rejected, false);
+
+        mockMvc.perform(get("/items/{id}/availability", itemId)
+                        .param("from", BASE.toString())
+                        .param("to", BASE.plusHours(20).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].start").value("2041-03-01T00:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2041-03-01T10:00:00"))
+                .andExpect(jsonPath("$[1].start").value("2041-03-01T12:00:00"))
+                .andExpect(jsonPath("$[1].end").value("2041-03-01T14:00:00"))
+                .andExpect(jsonPath("$[2].start").value("2041-03-01T15:00:00"))
+                .andExpect(jsonPath("$[2].end").value("2041-03-01T20:00:00"));
+        mockMvc.perform(get("/items/{id}/availability", itemId)
+                        .param("from", BASE.plusHours(5).toString())
+                        .param("to", BASE.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long book(Long bookerId, Long itemId, int fromHour, int toHour) {
+        return bookingService.createBooking(bookerId, BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(BASE.plusHours(fromHour))
+                .end(BASE.plusHours(toHour))
+                .build()).getId();
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCacheTest {
+    private final ItemCache itemCache = new ItemCache(new ConcurrentMapCacheManager(ItemCache.NAME));
+
+    @Test
+    void putAfterConcurrentEvictionIsDropped() {
+        long generation = itemCache.generation(1L);
+        itemCache.evict(1L);
+        itemCache.put(item(1L), generation);
+
+        assertThat(itemCache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void putWithCurrentGenerationIsCached() {
+        itemCache.evict(1L);
+        itemCache.put(item(1L), itemCache.generation(1L));
+
+        assertThat(itemCache.get(1L)).isPresent();
+    }
+
+    private ItemExtendedDto item(Long id) {
+        return ItemExtendedDto.builder().id(id).build();
+    }
+}
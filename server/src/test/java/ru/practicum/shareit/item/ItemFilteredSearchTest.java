@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemFilteredSearchTest {
+    private static final LocalDate FROM = LocalDate.of(2042, 5, 1);
+    private static final LocalDate TO = LocalDate.of(2042, 5, 3);
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+
+    private Long ownerId;
+    private String word;
+    private Long hiddenId;
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("owner").getId();
+        word = "фонарь" + System.nanoTime();
+        hiddenId = createItem("Лампа").getId();
+        for (int i = 0; i < 4; i++) {
+            itemIds.add(createItem(word + " " + i).getId());
+        }
+    }
+
+    @Test
+    void renamedItemWithLowerIdIsNotSkippedOnLaterPages() {
+        assertThat(page(0)).containsExactly(itemIds.get(0), itemIds.get(1));
+        assertThat(page(1)).containsExactly(itemIds.get(2), itemIds.get(3));
+
+        itemService.updateItem(ownerId, hiddenId, ItemDto.builder().name(word).build());
+
+        assertThat(page(1)).containsExactly(itemIds.get(1), itemIds.get(2));
+    }
+
+    @Test
+    void itemBookedAfterTheFirstPageDoesNotRepeatOnTheNext() {
+        assertThat(page(0)).containsExactly(itemIds.get(0), itemIds.get(1));
+        Long bookerId = createUser("booker").getId();
+        Long bookingId = bookingService.createBooking(bookerId, BookingRequestDto.builder()
+                .itemId(itemIds.get(0))
+                .start(FROM.atTime(10, 0))
+                .end(FROM.atTime(12, 0))
+                .build()).getId();
+
+        bookingService.updateBooking(ownerId, bookingId, true);
+
+        assertThat(page(1)).containsExactly(itemIds.get(3));
+    }
+
+    private List<Long> page(int page) {
+        return itemService.searchItem(word, FROM, TO, PageRequest.of(page, 2)).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private ItemDto createItem(String name) {
+        return itemService.createItem(ownerId, ItemDto.builder()
+                .name(name)
+                .description("Светодиодный")
+                .available(true)
+                .build());
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
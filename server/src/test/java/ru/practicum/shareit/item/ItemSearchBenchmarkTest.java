@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+class ItemSearchBenchmarkTest {
+    private static final long BASE = 2_000_000_000_000L;
+    private static final int USERS = 1000;
+    private static final int ITEMS = 1_000_000;
+    private static final int QUERIES = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void fullTextSearchBeatsSubstringScanAtMillionItems() {
+        long seedStart = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO USERS (ID, NAME, EMAIL) " +
+                "SELECT ? + g, 'user ' || g, 'bench' || g || '@mail.ru' FROM generate_series(1, ?) g", BASE, USERS);
+        jdbcTemplate.update("INSERT INTO ITEMS (ID, NAME, DESCRIPTION, AVAILABLE, OWNER_ID, VERSION) " +
+                "SELECT ? + g, 'item ' || substr(md5(g::TEXT), 1, 10), " +
+                "'description ' || substr(md5((g * 7)::TEXT), 1, 12), g % 4 <> 0, ? + 1 + g % ?, 0 " +
+                "FROM generate_series(1, ?) g", BASE, BASE, USERS, ITEMS);
+        jdbcTemplate.queryForList("SELECT gin_clean_pending_list(c.oid::regclass) FROM pg_class c " +
+                "JOIN pg_am a ON a.oid = c.relam WHERE a.amname = 'gin' AND c.relkind = 'i'");
+        jdbcTemplate.execute("ANALYZE USERS, ITEMS");
+        log.info("Засеяно {} вещей за {} мс.", ITEMS, (System.nanoTime() - seedStart) / 1_000_000);
+        List<String> terms = jdbcTemplate.queryForList("SELECT substr(md5(g::TEXT), 1, 10) " +
+                "FROM generate_series(1, ?, ?) g", String.class, ITEMS, ITEMS / QUERIES);
+
+        long[] substring = measure(terms, term -> itemRepository.search(term, PageRequest.of(0, 20)));
+        long[] fullText = measure(terms, term -> itemRepository.searchFullText(term, PageRequest.of(0, 20)));
+
+        log.info("Поиск по {} вещам, {} запросов: UPPER LIKE-скан p50 {} мс / p95 {} мс, " +
+                        "полнотекстовый p50 {} мс / p95 {} мс.", ITEMS, terms.size(),
+                percentile(substring, 50), percentile(substring, 95),
+                percentile(fullText, 50), percentile(fullText, 95));
+        assertThat(percentile(fullText, 95)).isLessThan(percentile(substring, 50));
+    }
+
+    private long[] measure(List<String> terms, Consumer<String> query) {
+        query.accept(terms.get(0));
+        long[] millis = new long[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            long start = System.nanoTime();
+            query.accept(terms.get(i));
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private long percentile(long[] sorted, int percent) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchCacheTest {
+    private final ItemSearchCache cache = new ItemSearchCache(
+            new ObjectMapper().registerModule(new ParameterNamesModule()), new SimpleMeterRegistry(), 1 << 20,
+            Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void unrelatedAndUnavailableWritesKeepCachedPages() {
+        load("Ударная дрель");
+        cache.invalidate(List.of("Пила циркулярная"));
+        cache.invalidate(Arrays.asList(null, null));
+        load("Ударная дрель");
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writesMatchingEveryQueryTermEvictThePage() {
+        load("Ударная дрель");
+        load("дрель");
+        cache.invalidate(List.of("Дрель аккумуляторная"));
+        load("Ударная дрель");
+        load("дрель");
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void pageLoadedDuringInvalidationIsNotCached() {
+        cache.getPage("дрель", 0, 10, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(List.of("Старая дрель"));
+            return List.of();
+        });
+        load("дрель");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private void load(String text) {
+        cache.getPage(text, 0, 10, () -> {
+            loads.incrementAndGet();
+            return List.of(ItemDto.builder().id(1L).name(text).build());
+        });
+    }
+}
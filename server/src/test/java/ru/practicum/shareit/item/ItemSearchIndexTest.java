@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private final ItemSearchIndex index = new ItemSearchIndex(null);
+
+    @BeforeEach
+    void fill() {
+        for (long id = 40; id >= 1; id--) {
+            index.index(item(id, "Дрель " + id, id % 2 == 0 ? "ударная дрель дрель" : "аккумуляторная"));
+        }
+        index.index(item(100L, "Шуруповерт", "не дрель"));
+    }
+
+    @Test
+    void allTermsMustMatchAndBetterScoresComeFirst() {
+        List<Long> hits = index.search("дрель удар", PageRequest.of(0, 100), itemId -> true);
+
+        assertThat(hits).hasSize(20).allMatch(id -> id % 2 == 0);
+        assertThat(index.search("шуруп дрель", PageRequest.of(0, 10), itemId -> true)).containsExactly(100L);
+    }
+
+    @Test
+    void offsetPagesAndCursorPagesFollowTheFullRanking() {
+        List<Long> all = index.search("дрель", PageRequest.of(0, 100), itemId -> itemId != 7);
+        assertThat(all).hasSize(40).doesNotContain(7L).doesNotHaveDuplicates();
+
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; page < 6; page++) {
+            paged.addAll(index.search("дрель", PageRequest.of(page, 7), itemId -> itemId != 7));
+        }
+        assertThat(paged).isEqualTo(all);
+
+        List<Long> cursored = new ArrayList<>();
+        ItemCursor after = ItemCursor.decode(null);
+        List<ItemCursor> page;
+        do {
+            page = index.search("дрель", after, 6, itemId -> itemId != 7);
+            cursored.addAll(page.stream().map(ItemCursor::getId).collect(Collectors.toList()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1);
+        } while (page.size() == 6);
+        assertThat(cursored).isEqualTo(all);
+    }
+
+    @Test
+    void removedAndUpdatedItemsLeaveThePostings() {
+        index.remove(20L);
+        index.index(item(21L, "Пила", "циркулярная"));
+        Item unavailable = item(22L, "Дрель", "недоступная");
+        unavailable.setAvailable(false);
+        index.index(unavailable);
+
+        assertThat(index.search("дрель", PageRequest.of(0, 100), itemId -> true))
+                .hasSize(38)
+                .doesNotContain(20L, 21L, 22L);
+        assertThat(index.search("пила", PageRequest.of(0, 10), itemId -> true)).containsExactly(21L);
+    }
+
+    @Test
+    void rebuildSwapsInAFreshCorpusAndReplaysWritesCommittedDuringTheLoad() {
+        ItemRepository repository = mock(ItemRepository.class);
+        ItemSearchIndex rebuilt = new ItemSearchIndex(repository);
+        rebuilt.index(item(3L, "Пила", "удаленная из базы"));
+        when(repository.findAfter(eq(0L), any())).thenAnswer(invocation -> {
+            rebuilt.index(item(2L, "Пила", "новая"));
+            rebuilt.remove(1L);
+            assertThat(rebuilt.search("пила", PageRequest.of(0, 10), itemId -> true)).contains(2L, 3L);
+            return List.of(item(1L, "Пила", "старая"));
+        });
+
+        rebuilt.rebuild();
+
+        assertThat(rebuilt.search("пила", PageRequest.of(0, 10), itemId -> true)).containsExactly(2L);
+    }
+
+    private Item item(Long id, String name, String description) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.booking.events.dispatch-delay=86400000",
+        "shareit.booking.summary.sweep-delay=86400000",
+        "shareit.booking.expiry.sweep-delay=86400000",
+        "shareit.booking.days.prune-delay=86400000"
+})
+@ActiveProfiles("test")
+class ItemServiceStatementCountTest {
+    private static final int ITEMS = 40;
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+    @Autowired
+    private ItemCache itemCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long ownerId;
+    private Long bookerId;
+    private List<Long> itemIds;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ownerId = createUser("owner").getId();
+        User owner = userRepository.findById(ownerId).orElseThrow();
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookers.add(userRepository.findById(createUser("booker").getId()).orElseThrow());
+        }
+        bookerId = bookers.get(0).getId();
+        itemIds = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            Long itemId = itemService.createItem(owner.getId(), ItemDto.builder()
+                    .name("Дрель " + i)
+                    .description("Ударная дрель")
+                    .available(true)
+                    .build()).getId();
+            itemIds.add(itemId);
+            Item item = itemRepository.findById(itemId).orElseThrow();
+            bookings.add(approved(item, bookers.get(i % bookers.size()), now.minusDays(10 + i), now.minusDays(9 + i)));
+            bookings.add(approved(item, bookers.get((i + 1) % bookers.size()), now.plusDays(1 + i), now.plusDays(2 + i)));
+            User author = userRepository.findById(createUser("author").getId()).orElseThrow();
+            for (int j = 0; j < 3; j++) {
+                comments.add(Comment.builder()
+                        .text("Отличная дрель")
+                        .created(now.minusDays(1 + j))
+                        .author(author)
+                        .itemId(itemId)
+                        .build());
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+        summaryService.refreshSummaries(itemIds);
+    }
+
+    @Test
+    void ownerItemsStatementCountDoesNotGrowWithPageSize() {
+        long single = countStatements(() -> itemService.getByOwnerId(ownerId, PageRequest.of(0, 1)));
+        long small = countStatements(() -> itemService.getByOwnerId(ownerId, PageRequest.of(0, 5)));
+        long large = countStatements(() -> itemService.getByOwnerId(ownerId, PageRequest.of(0, ITEMS / 2)));
+
+        assertThat(itemService.getByOwnerId(ownerId, PageRequest.of(0, ITEMS / 2)))
+                .hasSize(ITEMS / 2)
+                .allSatisfy(item -> {
+                    assertThat(item.getLastBooking()).isNotNull();
+                    assertThat(item.getNextBooking()).isNotNull();
+                });
+        assertThat(small).isEqualTo(single);
+        assertThat(large).isEqualTo(single);
+    }
+
+    @Test
+    void ownerItemsCursorStatementCountDoesNotGrowWithPageSize() {
+        long single = countStatements(() -> itemService.getByOwnerId(ownerId, null, 1));
+        long small = countStatements(() -> itemService.getByOwnerId(ownerId, null, 5));
+        long large = countStatements(() -> itemService.getByOwnerId(ownerId, null, ITEMS / 2));
+
+        assertThat(itemService.getByOwnerId(ownerId, null, ITEMS / 2).getItems())
+                .hasSize(ITEMS / 2)
+                .allSatisfy(item -> assertThat(item.getComments()).hasSize(3));
+        assertThat(small).isEqualTo(single);
+        assertThat(large).isEqualTo(single);
+    }
+
+    @Test
+    void itemForOwnerStatementCountDoesNotDependOnBookingsAndComments() {
+        Long emptyItemId = itemService.createItem(ownerId, ItemDto.builder()
+                .name("Пила")
+                .description("Ручная пила")
+                .available(true)
+                .build()).getId();
+
+        long empty = countStatements(() -> itemService.getByIdItem(ownerId, emptyItemId));
+        long full = countStatements(() -> itemService.getByIdItem(ownerId, itemIds.get(0)));
+
+        ItemExtendedDto item = itemService.getByIdItem(ownerId, itemIds.get(0));
+        assertThat(item.getLastBooking()).isNotNull();
+        assertThat(item.getNextBooking()).isNotNull();
+        assertThat(item.getComments()).hasSize(3);
+        assertThat(full).isEqualTo(empty).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void itemForOtherUserIsReadOnceAndThenCached() {
+        Long itemId = itemIds.get(1);
+        itemCache.evict(itemId);
+
+        long first = countStatements(() -> itemService.getByIdItem(bookerId, itemId));
+        long second = countStatements(() -> itemService.getByIdItem(bookerId, itemId));
+
+        assertThat(first).isLessThanOrEqualTo(2);
+        assertThat(second).isZero();
+    }
+
+    private long countStatements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Booking approved(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .ownerId(item.getOwner().getId())
+                .start(start)
+                .end(end)
+                .status(Status.APPROVED)
+                .build();
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSuggestIndexTest {
+    private final ItemSuggestIndex index = new ItemSuggestIndex(null);
+
+    @Test
+    void popularNamesComeFirstAndTheTopIsBounded() {
+        for (long id = 1; id <= 12; id++) {
+            index.index(item(id, "Дрель " + (char) ('a' + id - 1), true));
+        }
+        index.index(item(20L, "Дрель  ударная", true));
+        index.index(item(21L, "дрель ударная", true));
+        index.index(item(22L, "Дрель ударная ", true));
+        index.index(item(23L, "Дрель b", true));
+
+        assertThat(index.suggest("дре", ItemSuggestIndex.TOP_SIZE))
+                .hasSize(ItemSuggestIndex.TOP_SIZE)
+                .startsWith("Дрель  ударная", "Дрель b", "Дрель a", "Дрель c");
+        assertThat(index.suggest("ДРЕЛЬ У", 5)).containsExactly("Дрель  ударная");
+        assertThat(index.suggest("пила", 5)).isEmpty();
+    }
+
+    @Test
+    void renamesTogglesAndDeletesLeaveTheTrie() {
+        index.index(item(1L, "Пила", true));
+        index.index(item(2L, "Пилка", true));
+        index.index(item(3L, "Пильник", true));
+
+        index.index(item(1L, "Лобзик", true));
+        index.index(item(2L, "Пилка", false));
+        index.remove(3L);
+
+        assertThat(index.suggest("пил", 10)).isEmpty();
+        assertThat(index.suggest("лоб", 10)).containsExactly("Лобзик");
+
+        index.index(item(2L, "Пилка", true));
+        assertThat(index.suggest("пил", 10)).containsExactly("Пилка");
+    }
+
+    @Test
+    void rebuildSwapsInAFreshTrieAndReplaysWritesCommittedDuringTheLoad() {
+        ItemRepository repository = mock(ItemRepository.class);
+        ItemSuggestIndex rebuilt = new ItemSuggestIndex(repository);
+        rebuilt.index(item(3L, "Пила удаленная", true));
+        when(repository.findAfter(eq(0L), any())).thenAnswer(invocation -> {
+            rebuilt.index(item(2L, "Пила новая", true));
+            rebuilt.remove(1L);
+            assertThat(rebuilt.suggest("пила", 10)).contains("Пила новая", "Пила удаленная");
+            return List.of(item(1L, "Пила старая", true), item(4L, "Пила скрытая", false));
+        });
+
+        rebuilt.rebuild();
+
+        assertThat(rebuilt.suggest("пила", 10)).containsExactly("Пила новая");
+    }
+
+    private Item item(Long id, String name, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .available(available)
+                .build();
+    }
+}
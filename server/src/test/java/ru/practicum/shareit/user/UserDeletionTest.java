@@ -0,0 +1,52 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.ItemCache;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item.search.engine=memory")
+@ActiveProfiles("test")
+class UserDeletionTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemCache itemCache;
+
+    @Test
+    void deletedOwnerItemsDisappearFromIndexesAndCaches() {
+        Long ownerId = createUser("owner").getId();
+        Long readerId = createUser("reader").getId();
+        Long itemId = itemService.createItem(ownerId, ItemDto.builder()
+                .name("Гравер")
+                .description("Гравер аккумуляторный")
+                .available(true)
+                .build()).getId();
+        itemService.getByIdItem(readerId, itemId);
+        assertThat(itemCache.get(itemId)).isPresent();
+        assertThat(itemService.searchItem("гравер", null, null, PageRequest.of(0, 10))).hasSize(1);
+        assertThat(itemService.suggestItem("грав", 10)).isNotEmpty();
+
+        userService.deleteUser(ownerId);
+
+        assertThat(itemCache.get(itemId)).isEmpty();
+        assertThat(itemService.searchItem("гравер", null, null, PageRequest.of(0, 10))).isEmpty();
+        assertThat(itemService.suggestItem("грав", 10)).isEmpty();
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserExistenceCheckerTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserExistenceChecker checker = new UserExistenceChecker(userRepository, 1000, 0.01, 0,
+            "maximumSize=100");
+
+    @BeforeEach
+    void loadFilter() {
+        when(userRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(2L, 10L));
+        checker.rebuild();
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void unknownIdBelowTheLoadedRangeIsRejectedWithoutQuery() {
+        assertThatThrownBy(() -> checker.requireExists(5L)).isInstanceOf(NotFoundException.class);
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void idAboveTheLoadedRangeIsCheckedInTheDatabaseAndThenCached() {
+        when(userRepository.existsById(11L)).thenReturn(true);
+
+        checker.requireExists(11L);
+        checker.requireExists(11L);
+
+        verify(userRepository, times(1)).existsById(11L);
+        assertThatThrownBy(() -> checker.requireExists(12L)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void extendLoadsIdsCreatedElsewhere() {
+        when(userRepository.findIdsAfter(eq(10L), any())).thenReturn(List.of(15L));
+        checker.extend();
+        when(userRepository.existsById(15L)).thenReturn(true);
+
+        checker.requireExists(15L);
+        assertThatThrownBy(() -> checker.requireExists(14L)).isInstanceOf(NotFoundException.class);
+
+        verify(userRepository, never()).existsById(14L);
+    }
+
+    @Test
+    void requestMemoSkipsTheCacheAndTheDatabase() {
+        when(userRepository.existsById(2L)).thenReturn(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        checker.requireExists(2L);
+        checker.removed(2L);
+        checker.requireExists(2L);
+        verify(userRepository, times(1)).existsById(2L);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        checker.requireExists(2L);
+        verify(userRepository, times(2)).existsById(2L);
+    }
+}